@@ -0,0 +1,30 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '10000');
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+    scenarios: {
+        person: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const id = 1 + Math.floor(Math.random() * 3);
+
+    const responses = http.batch([
+        ['GET', `${BASE_URL}/person/${id}`],
+        ['GET', `${BASE_URL}/person/${id}/salary?output=full`],
+        ['GET', `${BASE_URL}/person/${id}/age?output=days`],
+        ['GET', `${BASE_URL}/person?limit=50`],
+    ]);
+
+    responses.forEach((response) => check(response, { 'status is 200': (r) => r.status === 200 }));
+}
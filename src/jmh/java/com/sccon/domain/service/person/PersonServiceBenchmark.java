@@ -0,0 +1,127 @@
+package com.sccon.domain.service.person;
+
+import com.sccon.domain.enums.PeriodOutput;
+import com.sccon.domain.enums.SalaryOutput;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.SalaryProjection;
+import com.sccon.infrastructure.repository.person.PersonRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonServiceBenchmark {
+
+    private final Clock clock = Clock.systemDefaultZone();
+
+    private PersonService service;
+    private Person person;
+    private Person unsaved;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var calendar = new CalendarService(clock);
+        service = new PersonService(new PersonRepository(), new SalaryService(calendar), new AgeService(calendar),
+            calendar, new SimpleMeterRegistry());
+
+        person = Person.builder()
+            .id(1L)
+            .name("José da Silva")
+            .birthDate(LocalDate.of(2000, 4, 6))
+            .hireDate(LocalDate.of(2020, 5, 10))
+            .salary(new BigDecimal("1558.00"))
+            .build();
+        unsaved = person.toBuilder().id(null).build();
+    }
+
+    @Benchmark
+    public int calculateAge() {
+        return service.calculateAge(person, PeriodOutput.YEARS);
+    }
+
+    @Benchmark
+    public int calculateAgeInDays() {
+        return service.calculateAge(person, PeriodOutput.DAYS);
+    }
+
+    @Benchmark
+    public BigDecimal calculateSalary() {
+        return service.calculateSalary(person, SalaryOutput.FULL);
+    }
+
+    @Benchmark
+    public BigDecimal calculateSalaryUncached() {
+        return service.calculateSalary(unsaved, SalaryOutput.FULL);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Payroll {
+
+        @Param({"100000"})
+        private int size;
+
+        private PersonService service;
+        private List<Long> ids;
+
+        @Setup(Level.Trial)
+        public void populate() {
+            var clock = Clock.systemDefaultZone();
+            var repository = new PersonRepository();
+
+            for (long id = 4; id <= size; id++)
+                repository.save(Person.builder()
+                    .id(id)
+                    .name("Person " + id)
+                    .birthDate(LocalDate.of(1980, 1, 1).plusDays(id % 10_000))
+                    .hireDate(LocalDate.of(2010, 1, 1).plusDays(id % 5_000))
+                    .salary(BigDecimal.valueOf(1_500 + id % 8_000))
+                    .build());
+
+            var calendar = new CalendarService(clock);
+            service = new PersonService(repository, new SalaryService(calendar), new AgeService(calendar),
+                calendar, new SimpleMeterRegistry());
+            ids = LongStream.rangeClosed(1, size).boxed().toList();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void salariesPerId(Payroll payroll, Blackhole blackhole) {
+        for (Long id : payroll.ids)
+            payroll.service.findById(id)
+                .map(found -> payroll.service.calculateSalary(found, SalaryOutput.FULL))
+                .ifPresent(blackhole::consume);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void salariesInBulk(Payroll payroll, Blackhole blackhole) {
+        try (Stream<SalaryProjection> projections = payroll.service.projectSalaries(payroll.ids)) {
+            projections.forEach(blackhole::consume);
+        }
+    }
+}
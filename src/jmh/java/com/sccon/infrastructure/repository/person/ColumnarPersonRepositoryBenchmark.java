@@ -0,0 +1,76 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static com.sccon.infrastructure.repository.person.PersonRepositoryBenchmark.person;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ColumnarPersonRepositoryBenchmark {
+
+    private static final int LOAD_BATCH = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private ColumnarPersonRepository repository;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        repository = HeapFootprint.measure(size, () -> {
+            var columnar = new ColumnarPersonRepository();
+
+            for (long from = 4; from <= size; from += LOAD_BATCH)
+                columnar.applyAll(LongStream.range(from, Math.min(from + LOAD_BATCH, size + 1L))
+                    .mapToObj(id -> PersonBatchItem.builder().operation(BatchOperation.CREATE).person(person(id)).build())
+                    .toList());
+
+            columnar.findAll();
+            return columnar;
+        });
+    }
+
+    @Benchmark
+    public Optional<Person> findById(HeapFootprint footprint) {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public void save(HeapFootprint footprint) {
+        repository.save(person(randomId()));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Person> findAll(HeapFootprint footprint) {
+        return repository.findAll();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, size + 1);
+    }
+}
@@ -0,0 +1,51 @@
+package com.sccon.infrastructure.repository.person;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.function.Supplier;
+
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class HeapFootprint {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private static volatile long measured;
+
+    public long heapBytesPerPerson;
+
+    private boolean reported;
+
+    @TearDown(Level.Iteration)
+    public void report(IterationParams iteration) {
+        if (iteration.getType() == IterationType.MEASUREMENT && !reported) {
+            heapBytesPerPerson = measured;
+            reported = true;
+        }
+    }
+
+    static <T> T measure(int size, Supplier<T> populate) {
+        long before = usedHeap();
+        T populated = populate.get();
+        long after = usedHeap();
+
+        measured = (after - before) / size;
+
+        return populated;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++)
+            System.gc();
+
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,80 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonQueryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private PersonRepository repository;
+
+    private final PersonQuery byNamePrefix = PersonQuery.builder().nameStartsWith("Person 4242").build();
+
+    private final PersonQuery byHireDate = PersonQuery.builder()
+        .hiredFrom(LocalDate.of(2012, 3, 1))
+        .hiredTo(LocalDate.of(2012, 3, 2))
+        .build();
+
+    private final PersonQuery bySalaryAndHireDate = PersonQuery.builder()
+        .hiredFrom(LocalDate.of(2010, 1, 1))
+        .hiredTo(LocalDate.of(2020, 1, 1))
+        .salaryGte(new BigDecimal("4200"))
+        .salaryLte(new BigDecimal("4200"))
+        .build();
+
+    @Setup(Level.Trial)
+    public void populate() {
+        repository = new PersonRepository();
+
+        for (long id = 4; id <= size; id++)
+            repository.save(PersonRepositoryBenchmark.person(id));
+    }
+
+    @Benchmark
+    public List<Person> nameStartsWith() {
+        return repository.findPage(byNamePrefix, null, 100);
+    }
+
+    @Benchmark
+    public List<Person> hiredBetween() {
+        return repository.findPage(byHireDate, null, 100);
+    }
+
+    @Benchmark
+    public List<Person> salaryAndHireDate() {
+        return repository.findPage(bySalaryAndHireDate, null, 100);
+    }
+
+    @Benchmark
+    public List<Person> scanAndFilter() {
+        return repository.findAll().stream()
+            .filter(byHireDate::matches)
+            .limit(100)
+            .toList();
+    }
+}
@@ -0,0 +1,83 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.model.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class PersonRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private PersonRepository repository;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        repository = HeapFootprint.measure(size, () -> {
+            var map = new PersonRepository();
+
+            for (long id = 4; id <= size; id++)
+                map.save(person(id));
+
+            return map;
+        });
+    }
+
+    @Benchmark
+    public Optional<Person> findById(HeapFootprint footprint) {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public void save(HeapFootprint footprint) {
+        repository.save(person(randomId()));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Person> findAll(HeapFootprint footprint) {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public Long getNextId(HeapFootprint footprint) {
+        return repository.getNextId();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, size + 1);
+    }
+
+    static Person person(long id) {
+        return Person.builder()
+            .id(id)
+            .name("Person " + id)
+            .birthDate(LocalDate.of(1980, 1, 1).plusDays(id % 10_000))
+            .hireDate(LocalDate.of(2010, 1, 1).plusDays(id % 5_000))
+            .salary(BigDecimal.valueOf(1_500 + id % 8_000))
+            .build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.model.PersonStats;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class PersonRepositoryEngineBenchmark {
+
+    @Param({"map", "columnar", "jdbc", "cached-jdbc"})
+    private String engine;
+
+    @Param({"100000"})
+    private int size;
+
+    private PersonRepositoryPort repository;
+    private Path directory;
+
+    private final PersonQuery byHireDate = PersonQuery.builder()
+        .hiredFrom(LocalDate.of(2012, 3, 1))
+        .hiredTo(LocalDate.of(2012, 3, 31))
+        .build();
+
+    @Setup(Level.Trial)
+    public void populate() throws IOException {
+        directory = Files.createTempDirectory("people-jdbc");
+
+        repository = switch (engine) {
+            case "map" -> new PersonRepository();
+            case "columnar" -> new ColumnarPersonRepository();
+            case "jdbc" -> jdbc();
+            case "cached-jdbc" -> new CachingPersonRepository(jdbc(), size / 10, Duration.ofMinutes(10));
+            default -> throw new IllegalArgumentException("Unknown engine " + engine);
+        };
+
+        repository.applyAll(LongStream.rangeClosed(4, size)
+            .mapToObj(id -> PersonBatchItem.builder()
+                .operation(BatchOperation.CREATE)
+                .person(PersonRepositoryBenchmark.person(id))
+                .build())
+            .toList());
+    }
+
+    private JdbcPersonRepository jdbc() {
+        return new JdbcPersonRepository(JdbcPersonRepository.Settings.builder()
+            .url("jdbc:h2:file:" + directory.resolve("people") + ";WRITE_DELAY=0")
+            .username("sa")
+            .password("")
+            .poolSize(8)
+            .statementCacheSize(256)
+            .batchSize(1_000)
+            .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        if (repository instanceof Closeable closeable)
+            closeable.close();
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(file);
+        }
+    }
+
+    @Benchmark
+    public Optional<Person> findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public Optional<Person> findSkewedId() {
+        return repository.findById(skewedId());
+    }
+
+    @Benchmark
+    public void save() {
+        repository.save(PersonRepositoryBenchmark.person(randomId()));
+    }
+
+    @Benchmark
+    public Optional<Person> computeIfPresent() {
+        return repository.computeIfPresent(randomId(), person -> person.toBuilder().name("Renamed " + person.getId()).build());
+    }
+
+    @Benchmark
+    public List<PersonBatchResult> updateBatchOf100() {
+        long first = ThreadLocalRandom.current().nextLong(1, size - 100);
+
+        return repository.applyAll(LongStream.range(first, first + 100)
+            .mapToObj(id -> PersonBatchItem.builder()
+                .operation(BatchOperation.UPDATE)
+                .person(PersonRepositoryBenchmark.person(id))
+                .build())
+            .toList());
+    }
+
+    @Benchmark
+    public List<Person> pageAfterRandomCursor() {
+        return repository.findPage(PersonCursor.builder().name("Person " + randomId()).id(0L).build(), 50);
+    }
+
+    @Benchmark
+    public List<Person> queryByHireDate() {
+        return repository.findPage(byHireDate, null, 50);
+    }
+
+    @Benchmark
+    public PersonStats stats() {
+        return repository.stats();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, size + 1);
+    }
+
+    private long skewedId() {
+        double uniform = ThreadLocalRandom.current().nextDouble();
+        return 1 + (long) (uniform * uniform * uniform * size);
+    }
+}
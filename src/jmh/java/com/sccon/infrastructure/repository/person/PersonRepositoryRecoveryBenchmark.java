@@ -0,0 +1,108 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.infrastructure.persistence.WriteAheadLog;
+import com.sccon.infrastructure.persistence.WriteAheadLog.FsyncPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PersonRepositoryRecoveryBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    private Path logOnly;
+    private Path snapshotted;
+    private PersonRepository open;
+
+    @Setup(Level.Trial)
+    public void populate() throws IOException {
+        logOnly = Files.createTempDirectory("people-wal");
+        snapshotted = Files.createTempDirectory("people-snapshot");
+
+        for (Path directory : new Path[]{logOnly, snapshotted})
+            try (var repository = new PersonRepository(settings(directory))) {
+                repository.applyAll(LongStream.rangeClosed(4, size)
+                    .mapToObj(id -> PersonBatchItem.builder()
+                        .operation(BatchOperation.CREATE)
+                        .person(PersonRepositoryBenchmark.person(id))
+                        .build())
+                    .toList());
+
+                if (directory == snapshotted)
+                    repository.snapshot();
+            }
+
+        open = new PersonRepository(settings(snapshotted));
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        open.close();
+
+        for (Path directory : new Path[]{logOnly, snapshotted})
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+                    Files.delete(file);
+            }
+    }
+
+    @Benchmark
+    public int recoverFromLog() throws IOException {
+        try (var repository = new PersonRepository(settings(logOnly))) {
+            return repository.size();
+        }
+    }
+
+    @Benchmark
+    public int recoverFromSnapshot() throws IOException {
+        try (var repository = new PersonRepository(settings(snapshotted))) {
+            return repository.size();
+        }
+    }
+
+    @Benchmark
+    public long snapshot() throws IOException {
+        open.snapshot();
+
+        return open.getWriteAheadLog().orElseThrow().getSnapshotRecords();
+    }
+
+    private static WriteAheadLog.Settings settings(Path directory) {
+        return WriteAheadLog.Settings.builder()
+            .directory(directory)
+            .name("people")
+            .fsyncPolicy(FsyncPolicy.INTERVAL)
+            .fsyncInterval(Duration.ofMillis(10))
+            .snapshotInterval(Duration.ZERO)
+            .snapshotThresholdBytes(Long.MAX_VALUE)
+            .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.sccon.presentation.person;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.sccon.domain.model.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonResponseBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<Person> people;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        people = LongStream.rangeClosed(1, size)
+            .mapToObj(id -> Person.builder()
+                .id(id)
+                .name("Person " + id)
+                .birthDate(LocalDate.of(1980, 1, 1).plusDays(id % 10_000))
+                .hireDate(LocalDate.of(2010, 1, 1).plusDays(id % 5_000))
+                .salary(BigDecimal.valueOf(1_500 + id % 8_000))
+                .build())
+            .toList();
+    }
+
+    @Benchmark
+    public List<PersonResponse> toResponse() {
+        return people.stream()
+            .map(PersonResponse::toResponse)
+            .toList();
+    }
+
+    @Benchmark
+    public void serializeListing() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), toResponse());
+    }
+
+    @Benchmark
+    public void streamListing() throws IOException {
+        try (SequenceWriter writer = objectMapper.writerFor(PersonResponse.class)
+            .withRootValueSeparator("\n")
+            .writeValues(OutputStream.nullOutputStream())) {
+
+            for (Person person : people)
+                writer.write(PersonResponse.toResponse(person));
+        }
+    }
+}
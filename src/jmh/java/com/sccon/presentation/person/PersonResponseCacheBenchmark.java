@@ -0,0 +1,63 @@
+package com.sccon.presentation.person;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sccon.domain.model.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonResponseCacheBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    private PersonResponseCache cache;
+    private Person person;
+
+    @Setup(Level.Trial)
+    public void populate() throws JsonProcessingException {
+        cache = new PersonResponseCache(objectMapper, 1);
+        person = Person.builder()
+            .id(1L)
+            .name("José da Silva")
+            .birthDate(LocalDate.of(2000, 4, 6))
+            .hireDate(LocalDate.of(2020, 5, 10))
+            .salary(BigDecimal.valueOf(1558))
+            .version(1L)
+            .build();
+
+        cache.json(person);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(PersonResponse.toResponse(person));
+    }
+
+    @Benchmark
+    public byte[] cached() throws JsonProcessingException {
+        return cache.json(person);
+    }
+}
@@ -0,0 +1,111 @@
+package com.sccon.presentation.person;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonWireFormatBenchmark {
+
+    private static final TypeReference<List<PersonResponse>> LISTING = new TypeReference<>() {
+    };
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<PersonResponse> listing;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void encode() throws IOException {
+        objectMapper = switch (format) {
+            case "smile" -> binary(new SmileFactory());
+            case "cbor" -> binary(new CBORFactory());
+            default -> Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        };
+
+        listing = LongStream.rangeClosed(1, size)
+            .mapToObj(id -> PersonResponse.builder()
+                .id(id)
+                .name("Person " + id)
+                .birthDate(LocalDate.of(1980, 1, 1).plusDays(id % 10_000))
+                .hireDate(LocalDate.of(2010, 1, 1).plusDays(id % 5_000))
+                .salary(BigDecimal.valueOf(150_000 + id % 800_000, 2))
+                .build())
+            .toList();
+
+        encoded = objectMapper.writeValueAsBytes(listing);
+    }
+
+    @Benchmark
+    public byte[] serialize(WireSize wire) throws IOException {
+        return objectMapper.writeValueAsBytes(listing);
+    }
+
+    @Benchmark
+    public List<PersonResponse> deserialize(WireSize wire) throws IOException {
+        return objectMapper.readValue(encoded, LISTING);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+
+        public long wireBytes;
+
+        private boolean reported;
+
+        @TearDown(Level.Iteration)
+        public void report(IterationParams iteration, PersonWireFormatBenchmark benchmark) {
+            if (iteration.getType() == IterationType.MEASUREMENT && !reported) {
+                wireBytes = benchmark.encoded.length;
+                reported = true;
+            }
+        }
+    }
+
+    private static ObjectMapper binary(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+            .factory(factory)
+            .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.sccon.domain.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum BatchOperation {
+    CREATE("create"),
+    UPDATE("update"),
+    DELETE("delete");
+
+    private final String value;
+}
@@ -0,0 +1,17 @@
+package com.sccon.domain.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum BatchStatus {
+    CREATED("created"),
+    UPDATED("updated"),
+    DELETED("deleted"),
+    CONFLICT("conflict"),
+    NOT_FOUND("not_found"),
+    INVALID("invalid");
+
+    private final String value;
+}
@@ -0,0 +1,13 @@
+package com.sccon.domain.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ChangeType {
+    SAVED("saved"),
+    DELETED("deleted");
+
+    private final String value;
+}
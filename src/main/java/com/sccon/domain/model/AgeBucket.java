@@ -0,0 +1,12 @@
+package com.sccon.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class AgeBucket {
+    private int fromYears;
+    private int toYears;
+    private long count;
+}
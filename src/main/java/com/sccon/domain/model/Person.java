@@ -9,9 +9,20 @@ import java.time.LocalDate;
 @Value
 @Builder(toBuilder = true)
 public class Person {
+
+    public static final LocalDate FIRST_HIRE_DATE = LocalDate.of(1900, 1, 1);
+    public static final LocalDate LAST_HIRE_DATE = LocalDate.of(2199, 12, 31);
+    public static final int SALARY_INTEGER_DIGITS = 15;
+    public static final int SALARY_FRACTION_DIGITS = 2;
+
     private Long id;
     private String name;
     private LocalDate birthDate;
     private LocalDate hireDate;
     private BigDecimal salary;
+    private long version;
+
+    public static boolean isSupportedHireDate(LocalDate date) {
+        return !date.isBefore(FIRST_HIRE_DATE) && !date.isAfter(LAST_HIRE_DATE);
+    }
 }
@@ -0,0 +1,12 @@
+package com.sccon.domain.model;
+
+import com.sccon.domain.enums.BatchOperation;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder(toBuilder = true)
+public class PersonBatchItem {
+    private BatchOperation operation;
+    private Person person;
+}
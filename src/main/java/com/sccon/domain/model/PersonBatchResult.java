@@ -0,0 +1,12 @@
+package com.sccon.domain.model;
+
+import com.sccon.domain.enums.BatchStatus;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class PersonBatchResult {
+    private Long id;
+    private BatchStatus status;
+}
@@ -0,0 +1,14 @@
+package com.sccon.domain.model;
+
+import com.sccon.domain.enums.ChangeType;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class PersonChange {
+    private long sequence;
+    private ChangeType type;
+    private Long id;
+    private Person person;
+}
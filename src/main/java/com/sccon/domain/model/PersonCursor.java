@@ -0,0 +1,18 @@
+package com.sccon.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class PersonCursor {
+    private String name;
+    private Long id;
+
+    public static PersonCursor of(Person person) {
+        return PersonCursor.builder()
+            .name(person.getName())
+            .id(person.getId())
+            .build();
+    }
+}
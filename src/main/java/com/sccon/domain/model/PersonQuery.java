@@ -0,0 +1,46 @@
+package com.sccon.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Value
+@Builder
+public class PersonQuery {
+    private String nameStartsWith;
+    private LocalDate hiredFrom;
+    private LocalDate hiredTo;
+    private BigDecimal salaryGte;
+    private BigDecimal salaryLte;
+
+    public boolean isEmpty() {
+        return nameStartsWith == null && !hasHireDateRange() && !hasSalaryRange();
+    }
+
+    public boolean hasHireDateRange() {
+        return hiredFrom != null || hiredTo != null;
+    }
+
+    public boolean hasSalaryRange() {
+        return salaryGte != null || salaryLte != null;
+    }
+
+    public boolean matches(Person person) {
+
+        if (nameStartsWith != null && (person.getName() == null || !person.getName().startsWith(nameStartsWith)))
+            return false;
+
+        if (hasHireDateRange() && !within(person.getHireDate(), hiredFrom, hiredTo))
+            return false;
+
+        return !hasSalaryRange() || within(person.getSalary(), salaryGte, salaryLte);
+    }
+
+    private static <T extends Comparable<? super T>> boolean within(T value, T from, T to) {
+        return value != null
+            && (from == null || value.compareTo(from) >= 0)
+            && (to == null || value.compareTo(to) <= 0);
+    }
+}
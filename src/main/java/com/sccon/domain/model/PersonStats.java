@@ -0,0 +1,17 @@
+package com.sccon.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+@Builder
+public class PersonStats {
+    private long headcount;
+    private long salaried;
+    private BigDecimal totalPayroll;
+    private BigDecimal averageSalary;
+    private BigDecimal minSalary;
+    private BigDecimal maxSalary;
+}
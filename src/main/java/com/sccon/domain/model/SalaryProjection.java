@@ -0,0 +1,14 @@
+package com.sccon.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+@Builder
+public class SalaryProjection {
+    private Long id;
+    private BigDecimal full;
+    private BigDecimal minimumWages;
+}
@@ -0,0 +1,107 @@
+package com.sccon.domain.service.person;
+
+import com.sccon.domain.enums.PeriodOutput;
+import com.sccon.domain.model.AgeBucket;
+import com.sccon.domain.model.Person;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+class AgeService {
+
+    private final CalendarService calendar;
+    private final ConcurrentMap<Long, Age> ages = new ConcurrentHashMap<>();
+
+    AgeService(CalendarService calendar) {
+        this.calendar = calendar;
+    }
+
+    public int calculate(Person person, PeriodOutput output) {
+
+        var age = ageOf(person, calendar.today());
+
+        return switch (output) {
+            case DAYS -> age.days();
+            case MONTHS -> age.months();
+            default -> age.years();
+        };
+    }
+
+    public List<AgeBucket> distribution(Iterator<Person> people, int bucketSize) {
+
+        var date = calendar.today();
+        long[] counts = new long[16];
+        int buckets = 0;
+
+        while (people.hasNext()) {
+            var person = people.next();
+
+            if (person.getBirthDate() == null)
+                continue;
+
+            int bucket = Math.max(Age.between(person.getBirthDate(), date).years(), 0) / bucketSize;
+
+            if (bucket >= counts.length)
+                counts = Arrays.copyOf(counts, Math.max(bucket + 1, counts.length * 2));
+
+            counts[bucket]++;
+            buckets = Math.max(buckets, bucket + 1);
+        }
+
+        List<AgeBucket> distribution = new ArrayList<>(buckets);
+        for (int bucket = 0; bucket < buckets; bucket++)
+            distribution.add(AgeBucket.builder()
+                .fromYears(bucket * bucketSize)
+                .toYears((bucket + 1) * bucketSize)
+                .count(counts[bucket])
+                .build());
+
+        return distribution;
+    }
+
+    public void evict(Long id) {
+        if (id != null)
+            ages.remove(id);
+    }
+
+    private Age ageOf(Person person, LocalDate date) {
+
+        var age = person.getId() == null ? null : ages.get(person.getId());
+
+        if (age == null || !age.matches(person.getBirthDate(), date)) {
+            age = Age.between(person.getBirthDate(), date);
+
+            if (person.getId() != null)
+                ages.put(person.getId(), age);
+        }
+
+        return age;
+    }
+
+    private record Age(LocalDate birthDate, LocalDate date, int days, int months, int years) {
+
+        static Age between(LocalDate birthDate, LocalDate date) {
+
+            int days = (int) (date.toEpochDay() - birthDate.toEpochDay());
+            int months = (date.getYear() - birthDate.getYear()) * 12 + date.getMonthValue() - birthDate.getMonthValue();
+
+            if (months > 0 && date.getDayOfMonth() < birthDate.getDayOfMonth())
+                months--;
+            else if (months < 0 && date.getDayOfMonth() > birthDate.getDayOfMonth())
+                months++;
+
+            return new Age(birthDate, date, days, months, months / 12);
+        }
+
+        boolean matches(LocalDate birthDate, LocalDate today) {
+            return date.equals(today) && this.birthDate.equals(birthDate);
+        }
+    }
+}
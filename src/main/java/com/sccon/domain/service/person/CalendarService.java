@@ -0,0 +1,40 @@
+package com.sccon.domain.service.person;
+
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+@Service
+class CalendarService {
+
+    private final Clock clock;
+    private volatile Today today;
+
+    CalendarService(Clock clock) {
+        this.clock = clock;
+        this.today = Today.of(clock);
+    }
+
+    public LocalDate today() {
+
+        var current = today;
+
+        if (clock.millis() >= current.nextMidnight()) {
+            current = Today.of(clock);
+            today = current;
+        }
+
+        return current.date();
+    }
+
+    private record Today(LocalDate date, long nextMidnight) {
+
+        static Today of(Clock clock) {
+            var date = LocalDate.now(clock);
+            var nextMidnight = date.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+
+            return new Today(date, nextMidnight);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.sccon.domain.service.person;
+
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.model.PersonStats;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+public interface PersonRepositoryPort {
+
+    public List<Person> findAll();
+
+    public List<Person> findByNameBetween(String from, String to);
+
+    public List<Person> findByNamePrefix(String prefix);
+
+    public List<Person> findPage(PersonCursor after, int limit);
+
+    public List<Person> findPage(PersonQuery query, PersonCursor after, int limit);
+
+    public Stream<Person> streamAll();
+
+    public Optional<Person> findById(Long id);
+
+    public boolean existsById(Long id);
+
+    public void save(Person person);
+
+    public boolean insertIfAbsent(Person person);
+
+    public boolean replaceIfPresent(Person person);
+
+    public Optional<Person> computeIfPresent(Long id, UnaryOperator<Person> update);
+
+    public void delete(Long id);
+
+    public boolean removeIfPresent(Long id);
+
+    public List<PersonBatchResult> applyAll(List<PersonBatchItem> items);
+
+    public PersonStats stats();
+
+    public long countHiredOnOrBefore(LocalDate date);
+
+    public Optional<LocalDate> findEarliestHireDate();
+
+    public List<PersonChange> findChangesAfter(long sequence, int limit);
+
+    public long getLastChangeSequence();
+
+    public Long getNextId();
+
+    public long getLastId();
+
+    public long getVersion();
+
+    public int size();
+}
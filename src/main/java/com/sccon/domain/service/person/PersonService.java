@@ -1,60 +1,120 @@
 package com.sccon.domain.service.person;
 
+import com.sccon.domain.enums.BatchOperation;
 import com.sccon.domain.enums.PeriodOutput;
 import com.sccon.domain.enums.SalaryOutput;
+import com.sccon.domain.model.AgeBucket;
 import com.sccon.domain.model.Person;
-import com.sccon.infrastructure.repository.person.PersonRepository;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.model.PersonStats;
+import com.sccon.domain.model.SalaryProjection;
+import com.sccon.domain.model.TenureBucket;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
-import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
+@Timed("person.service")
 @RequiredArgsConstructor
 class PersonService implements PersonServicePort {
 
-    private static final String MINIMUM_SALARY_VALUE = "1302.00";
-    private static final String ANNUAL_BONUS_AMOUNT = "500.00";
-    private static final String DEFAULT_PERCENTUAL_INCREASE = "0.18";
+    private static final int PROJECTION_CHUNK_SIZE = 4096;
+    private static final String TIMER = "person.service";
 
-    private final PersonRepository repository;
+    private final PersonRepositoryPort repository;
+    private final SalaryService salaryService;
+    private final AgeService ageService;
+    private final CalendarService calendar;
+    private final MeterRegistry meterRegistry;
 
     public List<Person> listAll() {
         return repository.findAll();
     }
 
-    public boolean existsById(Long id) {
-        return repository.existsById(id);
+    public long currentVersion() {
+        return repository.getVersion();
     }
 
-    public void save(Person person) {
+    public List<Person> listPage(PersonCursor after, int limit) {
+        return repository.findPage(after, limit);
+    }
 
-        Long id = person.getId() != null ? person.getId() : getNextId();
+    public List<Person> query(PersonQuery query, PersonCursor after, int limit) {
+        return repository.findPage(query, after, limit);
+    }
 
-        person = person.toBuilder().id(id).build();
+    public Stream<Person> streamAll() {
+        return timed("streamAll", repository.streamAll());
+    }
 
-        repository.save(person);
+    public List<PersonChange> changesAfter(long sequence, int limit) {
+        return repository.findChangesAfter(sequence, limit);
     }
 
-    public void update(Person person) {
+    public long lastChangeSequence() {
+        return repository.getLastChangeSequence();
+    }
 
-        repository.save(person);
+    public boolean insertIfAbsent(Person person) {
+        return repository.insertIfAbsent(withId(person));
     }
 
-    public void partialUpdate(Person person, BigDecimal salary) {
+    public boolean replaceIfPresent(Person person) {
+
+        boolean replaced = repository.replaceIfPresent(person);
+        evict(person.getId());
+
+        return replaced;
+    }
+
+    public boolean removeIfPresent(Long id) {
+
+        boolean removed = repository.removeIfPresent(id);
+        evict(id);
+
+        return removed;
+    }
+
+    public List<PersonBatchResult> applyBatch(List<PersonBatchItem> items) {
+
+        List<PersonBatchItem> identified = items.stream()
+            .map(item -> item.getOperation() == BatchOperation.CREATE
+                ? item.toBuilder().person(withId(item.getPerson())).build()
+                : item)
+            .toList();
 
-        if (salary != null)
-            repository.save(person.toBuilder().salary(salary).build());
+        List<PersonBatchResult> results = repository.applyAll(identified);
+        results.forEach(result -> evict(result.getId()));
 
+        return results;
     }
 
-    public void deletePerson(Long id) {
-        repository.delete(id);
+    public Optional<Person> computeSalary(Long id, UnaryOperator<BigDecimal> salary) {
+
+        var updated = repository.computeIfPresent(id, person ->
+            person.toBuilder().salary(salary.apply(person.getSalary())).build());
+        evict(id);
+
+        return updated;
     }
 
     public Optional<Person> findById(Long id) {
@@ -63,44 +123,118 @@ class PersonService implements PersonServicePort {
 
     public int calculateAge(Person person, PeriodOutput output) {
 
-        var hoje = LocalDate.now();
-        var periodo = Period.between(person.getBirthDate(), hoje);
+        return ageService.calculate(person, output);
+    }
 
-        return switch (output) {
-            case DAYS -> periodo.getYears() * 365;
-            case MONTHS -> periodo.getYears() * 12;
-            default -> periodo.getYears();
-        };
+    public List<AgeBucket> ageDistribution(int bucketSize) {
+
+        try (Stream<Person> people = repository.streamAll()) {
+            return ageService.distribution(people.iterator(), bucketSize);
+        }
     }
 
-    public BigDecimal calculateSalary(Person person, SalaryOutput output) {
+    public PersonStats stats() {
+        return repository.stats();
+    }
+
+    public List<TenureBucket> tenureDistribution(int bucketSize) {
+
+        var today = calendar.today();
+        var earliest = repository.findEarliestHireDate();
 
-        var baseSalary = person.getSalary();
-        int years = Period.between(person.getHireDate(), LocalDate.now()).getYears();
-        var percentualIncrease = new BigDecimal(DEFAULT_PERCENTUAL_INCREASE);
-        var annualBonus = new BigDecimal(ANNUAL_BONUS_AMOUNT);
+        if (earliest.isEmpty() || earliest.get().isAfter(today))
+            return List.of();
 
-        var salaryIncrement = baseSalary
-            .multiply(percentualIncrease)
-            .multiply(BigDecimal.valueOf(years));
+        int buckets = (int) (ChronoUnit.YEARS.between(earliest.get(), today) / bucketSize) + 1;
+        List<TenureBucket> distribution = new ArrayList<>(buckets);
 
-        var totalBonus = annualBonus.multiply(BigDecimal.valueOf(years));
+        long hiredAtLeast = repository.countHiredOnOrBefore(today);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            long hiredLonger = repository.countHiredOnOrBefore(today.minusYears((long) (bucket + 1) * bucketSize));
 
-        var finalSalary = baseSalary
-            .add(salaryIncrement)
-            .add(totalBonus)
-            .setScale(2, RoundingMode.CEILING);
+            distribution.add(TenureBucket.builder()
+                .fromYears(bucket * bucketSize)
+                .toYears((bucket + 1) * bucketSize)
+                .count(hiredAtLeast - hiredLonger)
+                .build());
 
-        if (output == SalaryOutput.MIN) {
-            BigDecimal minimumWage = new BigDecimal(MINIMUM_SALARY_VALUE);
-            return finalSalary.divide(minimumWage, 2, RoundingMode.HALF_EVEN);
+            hiredAtLeast = hiredLonger;
         }
 
-        return finalSalary;
+        return distribution;
+    }
+
+    public BigDecimal calculateSalary(Person person, SalaryOutput output) {
+        return salaryService.calculate(person, output);
+    }
+
+    public Stream<SalaryProjection> projectSalaries(List<Long> ids) {
+        return timed("projectSalaries",
+            inParallelChunks(ids.iterator(), id -> repository.findById(id).map(salaryService::project)));
+    }
+
+    public Stream<SalaryProjection> projectAllSalaries() {
+
+        Stream<Person> people = repository.streamAll();
+
+        return timed("projectAllSalaries",
+            inParallelChunks(people.iterator(), person -> Optional.of(salaryService.project(person)))
+                .onClose(people::close));
     }
 
     public Long getNextId() {
         return repository.getNextId();
     }
+
+    private <T> Stream<T> timed(String method, Stream<T> stream) {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        return stream.onClose(() -> sample.stop(meterRegistry.timer(TIMER,
+            "class", PersonService.class.getName(),
+            "method", method,
+            "exception", "none")));
+    }
+
+    private static <T> Stream<SalaryProjection> inParallelChunks(Iterator<T> source,
+                                                                 Function<T, Optional<SalaryProjection>> projection) {
+
+        Iterator<List<SalaryProjection>> chunks = new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public List<SalaryProjection> next() {
+
+                List<T> chunk = new ArrayList<>(PROJECTION_CHUNK_SIZE);
+                while (source.hasNext() && chunk.size() < PROJECTION_CHUNK_SIZE)
+                    chunk.add(source.next());
+
+                return chunk.parallelStream()
+                    .map(projection)
+                    .flatMap(Optional::stream)
+                    .toList();
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED), false)
+            .flatMap(List::stream);
+    }
+
+    private void evict(Long id) {
+        salaryService.evict(id);
+        ageService.evict(id);
+    }
+
+    private Person withId(Person person) {
+
+        if (person.getId() != null)
+            return person;
+
+        return person.toBuilder().id(getNextId()).build();
+    }
 }
 
@@ -2,31 +2,64 @@ package com.sccon.domain.service.person;
 
 import com.sccon.domain.enums.PeriodOutput;
 import com.sccon.domain.enums.SalaryOutput;
+import com.sccon.domain.model.AgeBucket;
 import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.model.PersonStats;
+import com.sccon.domain.model.SalaryProjection;
+import com.sccon.domain.model.TenureBucket;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 public interface PersonServicePort {
 
     public List<Person> listAll();
 
-    public boolean existsById(Long id);
+    public long currentVersion();
 
-    public void save(Person person);
+    public List<Person> listPage(PersonCursor after, int limit);
 
-    public void update(Person person);
+    public List<Person> query(PersonQuery query, PersonCursor after, int limit);
 
-    public void partialUpdate(Person person, BigDecimal salary);
+    public Stream<Person> streamAll();
 
-    public void deletePerson(Long id);
+    public List<PersonChange> changesAfter(long sequence, int limit);
+
+    public long lastChangeSequence();
+
+    public boolean insertIfAbsent(Person person);
+
+    public boolean replaceIfPresent(Person person);
+
+    public boolean removeIfPresent(Long id);
+
+    public List<PersonBatchResult> applyBatch(List<PersonBatchItem> items);
+
+    public Optional<Person> computeSalary(Long id, UnaryOperator<BigDecimal> salary);
 
     public Optional<Person> findById(Long id);
 
     public int calculateAge(Person person, PeriodOutput output);
 
+    public List<AgeBucket> ageDistribution(int bucketSize);
+
+    public PersonStats stats();
+
+    public List<TenureBucket> tenureDistribution(int bucketSize);
+
     public BigDecimal calculateSalary(Person person, SalaryOutput output);
 
+    public Stream<SalaryProjection> projectSalaries(List<Long> ids);
+
+    public Stream<SalaryProjection> projectAllSalaries();
+
     public Long getNextId();
 }
@@ -0,0 +1,70 @@
+package com.sccon.domain.service.person;
+
+import com.sccon.domain.enums.PeriodOutput;
+import com.sccon.domain.enums.SalaryOutput;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+@Service
+@RequiredArgsConstructor
+class ReactivePersonService implements ReactivePersonServicePort {
+
+    private final PersonServicePort personService;
+
+    public Flux<Person> listAll() {
+        return blocking(Flux.defer(() -> Flux.fromIterable(personService.listAll())));
+    }
+
+    public Flux<Person> listPage(PersonCursor after, int limit) {
+        return blocking(Flux.defer(() -> Flux.fromIterable(personService.listPage(after, limit))));
+    }
+
+    public Flux<Person> streamAll() {
+        return blocking(Flux.fromStream(personService::streamAll));
+    }
+
+    public Mono<Person> findById(Long id) {
+        return blocking(() -> personService.findById(id).orElse(null));
+    }
+
+    public Mono<Boolean> insertIfAbsent(Person person) {
+        return blocking(() -> personService.insertIfAbsent(person));
+    }
+
+    public Mono<Boolean> replaceIfPresent(Person person) {
+        return blocking(() -> personService.replaceIfPresent(person));
+    }
+
+    public Mono<Boolean> removeIfPresent(Long id) {
+        return blocking(() -> personService.removeIfPresent(id));
+    }
+
+    public Mono<Person> computeSalary(Long id, UnaryOperator<BigDecimal> salary) {
+        return blocking(() -> personService.computeSalary(id, salary).orElse(null));
+    }
+
+    public Mono<Integer> calculateAge(Person person, PeriodOutput output) {
+        return Mono.fromSupplier(() -> personService.calculateAge(person, output));
+    }
+
+    public Mono<BigDecimal> calculateSalary(Person person, SalaryOutput output) {
+        return Mono.fromSupplier(() -> personService.calculateSalary(person, output));
+    }
+
+    private static <T> Mono<T> blocking(Supplier<T> call) {
+        return Mono.fromSupplier(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static <T> Flux<T> blocking(Flux<T> call) {
+        return call.subscribeOn(Schedulers.boundedElastic());
+    }
+}
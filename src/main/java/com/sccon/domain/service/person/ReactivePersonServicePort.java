@@ -0,0 +1,34 @@
+package com.sccon.domain.service.person;
+
+import com.sccon.domain.enums.PeriodOutput;
+import com.sccon.domain.enums.SalaryOutput;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonCursor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.function.UnaryOperator;
+
+public interface ReactivePersonServicePort {
+
+    public Flux<Person> listAll();
+
+    public Flux<Person> listPage(PersonCursor after, int limit);
+
+    public Flux<Person> streamAll();
+
+    public Mono<Person> findById(Long id);
+
+    public Mono<Boolean> insertIfAbsent(Person person);
+
+    public Mono<Boolean> replaceIfPresent(Person person);
+
+    public Mono<Boolean> removeIfPresent(Long id);
+
+    public Mono<Person> computeSalary(Long id, UnaryOperator<BigDecimal> salary);
+
+    public Mono<Integer> calculateAge(Person person, PeriodOutput output);
+
+    public Mono<BigDecimal> calculateSalary(Person person, SalaryOutput output);
+}
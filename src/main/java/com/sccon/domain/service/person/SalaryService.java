@@ -0,0 +1,92 @@
+package com.sccon.domain.service.person;
+
+import com.sccon.domain.enums.SalaryOutput;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.SalaryProjection;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+class SalaryService {
+
+    private static final BigDecimal MINIMUM_SALARY_VALUE = new BigDecimal("1302.00");
+    private static final BigDecimal ANNUAL_BONUS_AMOUNT = new BigDecimal("500.00");
+    private static final BigDecimal DEFAULT_PERCENTUAL_INCREASE = new BigDecimal("0.18");
+
+    private final CalendarService calendar;
+    private final ConcurrentMap<Long, Salary> salaries = new ConcurrentHashMap<>();
+
+    SalaryService(CalendarService calendar) {
+        this.calendar = calendar;
+    }
+
+    public BigDecimal calculate(Person person, SalaryOutput output) {
+
+        var salary = salaryOf(person);
+
+        return output == SalaryOutput.MIN ? salary.minimumWages() : salary.full();
+    }
+
+    public SalaryProjection project(Person person) {
+
+        var salary = salaryOf(person);
+
+        return SalaryProjection.builder()
+            .id(person.getId())
+            .full(salary.full())
+            .minimumWages(salary.minimumWages())
+            .build();
+    }
+
+    public void evict(Long id) {
+        if (id != null)
+            salaries.remove(id);
+    }
+
+    private Salary salaryOf(Person person) {
+
+        var date = calendar.today();
+        var salary = person.getId() == null ? null : salaries.get(person.getId());
+
+        if (salary == null || !salary.matches(person, date)) {
+            salary = compute(person, date);
+
+            if (person.getId() != null)
+                salaries.put(person.getId(), salary);
+        }
+
+        return salary;
+    }
+
+    private static Salary compute(Person person, LocalDate date) {
+
+        var baseSalary = person.getSalary();
+        var years = BigDecimal.valueOf(ChronoUnit.YEARS.between(person.getHireDate(), date));
+
+        var finalSalary = baseSalary
+            .add(baseSalary.multiply(DEFAULT_PERCENTUAL_INCREASE).multiply(years))
+            .add(ANNUAL_BONUS_AMOUNT.multiply(years))
+            .setScale(2, RoundingMode.CEILING);
+
+        var minimumWages = finalSalary.divide(MINIMUM_SALARY_VALUE, 2, RoundingMode.HALF_EVEN);
+
+        return new Salary(baseSalary, person.getHireDate(), date, finalSalary, minimumWages);
+    }
+
+    private record Salary(BigDecimal baseSalary, LocalDate hireDate, LocalDate date,
+                          BigDecimal full, BigDecimal minimumWages) {
+
+        boolean matches(Person person, LocalDate today) {
+            return date.equals(today)
+                && Objects.equals(baseSalary, person.getSalary())
+                && Objects.equals(hireDate, person.getHireDate());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.sccon.infrastructure.configuration;
+
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import com.sccon.infrastructure.persistence.WriteAheadLog;
+import com.sccon.infrastructure.repository.person.CachingPersonRepository;
+import com.sccon.infrastructure.repository.person.PersonRepository;
+import com.sccon.infrastructure.repository.person.ShardedPersonRepository;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry, MetricsConfig::returnsStream);
+    }
+
+    @Bean
+    public MeterBinder personRepositoryMetrics(PersonRepositoryPort repository) {
+        return registry -> {
+            PersonRepositoryPort storage = repository instanceof ShardedPersonRepository sharded
+                ? sharded.getLocal()
+                : repository;
+
+            Gauge.builder("people.repository.size", storage, PersonRepositoryPort::size)
+                .description("People currently stored")
+                .register(registry);
+
+            FunctionCounter.builder("people.repository.ids.allocated", storage, PersonRepositoryPort::getLastId)
+                .description("Highest person id allocated so far")
+                .register(registry);
+
+            if (storage instanceof CachingPersonRepository cached) {
+                CaffeineCacheMetrics.monitor(registry, cached.getCache(), "people");
+                storage = cached.getDelegate();
+            }
+
+            if (!(storage instanceof PersonRepository map))
+                return;
+
+            map.getWriteAheadLog().ifPresent(log -> {
+                TimeGauge.builder("people.repository.wal.recovery", log, TimeUnit.MILLISECONDS,
+                        wal -> wal.getRecoveryDuration().toMillis())
+                    .description("Time spent replaying the write-ahead log at startup")
+                    .register(registry);
+
+                TimeGauge.builder("people.repository.wal.snapshot", log, TimeUnit.MILLISECONDS,
+                        wal -> wal.getSnapshotDuration().toMillis())
+                    .description("Duration of the last snapshot")
+                    .register(registry);
+
+                Gauge.builder("people.repository.wal.snapshot.records", log, WriteAheadLog::getSnapshotRecords)
+                    .description("Records written by the last snapshot")
+                    .register(registry);
+            });
+        };
+    }
+
+    private static boolean returnsStream(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getSignature() instanceof MethodSignature method
+            && Stream.class.isAssignableFrom(method.getReturnType());
+    }
+}
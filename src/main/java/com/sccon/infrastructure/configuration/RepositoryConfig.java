@@ -1,14 +1,95 @@
 package com.sccon.infrastructure.configuration;
 
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import com.sccon.infrastructure.configuration.RepositoryProperties.Engine;
+import com.sccon.infrastructure.persistence.WriteAheadLog;
+import com.sccon.infrastructure.repository.person.CachingPersonRepository;
+import com.sccon.infrastructure.repository.person.ColumnarPersonRepository;
+import com.sccon.infrastructure.repository.person.JdbcPersonRepository;
 import com.sccon.infrastructure.repository.person.PersonRepository;
+import com.sccon.infrastructure.repository.person.RemotePersonRepository;
+import com.sccon.infrastructure.repository.person.ShardedPersonRepository;
+import com.sccon.infrastructure.sharding.ConsistentHashRing;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Configuration
+@EnableConfigurationProperties({RepositoryProperties.class, ShardingProperties.class})
 public class RepositoryConfig {
 
     @Bean
-    public PersonRepository personMemoryDataSource() {
-        return new PersonRepository();
+    @ConditionalOnProperty(prefix = "people.repository.persistence", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public PersonRepositoryPort personDataSource(RepositoryProperties properties, ShardingProperties sharding,
+                                                 ObjectProvider<ConsistentHashRing> ring) {
+
+        int changeCapacity = properties.getChanges().getCapacity();
+
+        return sharded(sharding, ring, cached(properties, switch (properties.getEngine()) {
+            case MAP -> new PersonRepository(changeCapacity);
+            case COLUMNAR -> new ColumnarPersonRepository(changeCapacity);
+            case JDBC -> new JdbcPersonRepository(jdbcSettings(properties.getJdbc()), changeCapacity);
+        }));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "people.repository.persistence", name = "enabled", havingValue = "true")
+    public PersonRepositoryPort personPersistentDataSource(RepositoryProperties properties, ShardingProperties sharding,
+                                                           ObjectProvider<ConsistentHashRing> ring) throws IOException {
+
+        if (properties.getEngine() != Engine.MAP)
+            throw new IllegalStateException("The write-ahead log only backs the map engine, not " + properties.getEngine());
+
+        var persistence = properties.getPersistence();
+
+        return sharded(sharding, ring, cached(properties, new PersonRepository(WriteAheadLog.Settings.builder()
+            .directory(persistence.getDirectory())
+            .name("people")
+            .fsyncPolicy(persistence.getFsync())
+            .fsyncInterval(persistence.getFsyncInterval())
+            .snapshotInterval(persistence.getSnapshotInterval())
+            .snapshotThresholdBytes(persistence.getSnapshotThreshold().toBytes())
+            .build(), properties.getChanges().getCapacity())));
+    }
+
+    private static PersonRepositoryPort cached(RepositoryProperties properties, PersonRepositoryPort repository) {
+
+        var cache = properties.getCache();
+
+        return cache.isEnabled()
+            ? new CachingPersonRepository(repository, cache.getMaxSize(), cache.getTtl())
+            : repository;
+    }
+
+    private static PersonRepositoryPort sharded(ShardingProperties sharding, ObjectProvider<ConsistentHashRing> ring,
+                                                PersonRepositoryPort repository) {
+
+        if (!sharding.isEnabled())
+            return repository;
+
+        Map<String, PersonRepositoryPort> shards = new LinkedHashMap<>();
+        sharding.getNodes().forEach((node, url) -> shards.put(node, node.equals(sharding.getNode())
+            ? repository
+            : new RemotePersonRepository(node, url, sharding.getTimeout(), sharding.getSecret(),
+                sharding.getVersionTtl())));
+
+        return new ShardedPersonRepository(sharding.getNode(), ring.getObject(), shards);
+    }
+
+    private static JdbcPersonRepository.Settings jdbcSettings(RepositoryProperties.Jdbc jdbc) {
+        return JdbcPersonRepository.Settings.builder()
+            .url(jdbc.getUrl())
+            .username(jdbc.getUsername())
+            .password(jdbc.getPassword())
+            .poolSize(jdbc.getPoolSize())
+            .statementCacheSize(jdbc.getStatementCacheSize())
+            .batchSize(jdbc.getBatchSize())
+            .build();
     }
 }
@@ -0,0 +1,58 @@
+package com.sccon.infrastructure.configuration;
+
+import com.sccon.infrastructure.persistence.WriteAheadLog.FsyncPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "people.repository")
+public class RepositoryProperties {
+
+    private Engine engine = Engine.MAP;
+    private Persistence persistence = new Persistence();
+    private Changes changes = new Changes();
+    private Jdbc jdbc = new Jdbc();
+    private Cache cache = new Cache();
+
+    public enum Engine {
+        MAP,
+        COLUMNAR,
+        JDBC
+    }
+
+    @Data
+    public static class Persistence {
+        private boolean enabled;
+        private Path directory = Path.of("data");
+        private FsyncPolicy fsync = FsyncPolicy.ALWAYS;
+        private Duration fsyncInterval = Duration.ofMillis(100);
+        private Duration snapshotInterval = Duration.ofMinutes(1);
+        private DataSize snapshotThreshold = DataSize.ofMegabytes(64);
+    }
+
+    @Data
+    public static class Changes {
+        private int capacity = 1 << 16;
+    }
+
+    @Data
+    public static class Jdbc {
+        private String url = "jdbc:h2:file:./data/people;WRITE_DELAY=0";
+        private String username = "sa";
+        private String password = "";
+        private int poolSize = 8;
+        private int statementCacheSize = 256;
+        private int batchSize = 1_000;
+    }
+
+    @Data
+    public static class Cache {
+        private boolean enabled;
+        private long maxSize = 100_000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,62 @@
+package com.sccon.infrastructure.configuration;
+
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import com.sccon.infrastructure.repository.person.ShardedPersonRepository;
+import com.sccon.infrastructure.sharding.ConsistentHashRing;
+import com.sccon.infrastructure.sharding.ShardRebalancer;
+import com.sccon.infrastructure.sharding.ShardRoutingFilter;
+import com.sccon.infrastructure.sharding.ShardSecretFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "people.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ConsistentHashRing shardRing(ShardingProperties properties) {
+
+        if (!properties.getNodes().containsKey(properties.getNode()))
+            throw new IllegalStateException("Node " + properties.getNode() + " is not one of the sharding nodes "
+                + properties.getNodes().keySet());
+
+        if (properties.getSecret() == null || properties.getSecret().isBlank())
+            throw new IllegalStateException("people.sharding.secret must be set when sharding is enabled");
+
+        return new ConsistentHashRing(properties.getNodes().keySet(), properties.getVirtualNodes());
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<ShardRoutingFilter> shardRoutingFilter(ShardingProperties properties,
+                                                                         ConsistentHashRing ring) {
+
+        var registration = new FilterRegistrationBean<>(new ShardRoutingFilter(properties.getNode(), ring,
+            properties.getNodes(), properties.getRouting(), properties.getTimeout()));
+        registration.addUrlPatterns("/person/*");
+
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<ShardSecretFilter> shardSecretFilter(ShardingProperties properties) {
+
+        var registration = new FilterRegistrationBean<>(new ShardSecretFilter(properties.getSecret()));
+        registration.addUrlPatterns("/internal/shard/*");
+
+        return registration;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardRebalancer shardRebalancer(PersonRepositoryPort repository, ShardingProperties properties) {
+
+        if (!(repository instanceof ShardedPersonRepository sharded))
+            throw new IllegalStateException("Sharding is enabled but the person store is not sharded");
+
+        return new ShardRebalancer(sharded, properties.getRebalanceRetry());
+    }
+}
@@ -0,0 +1,25 @@
+package com.sccon.infrastructure.configuration;
+
+import com.sccon.infrastructure.sharding.ShardRoutingFilter.Routing;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "people.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+    private String node;
+    private Map<String, URI> nodes = new LinkedHashMap<>();
+    private int virtualNodes = 256;
+    private Routing routing = Routing.FORWARD;
+    private Duration timeout = Duration.ofSeconds(5);
+    private Duration rebalanceRetry = Duration.ofSeconds(5);
+    private String secret;
+    private Duration versionTtl = Duration.ofMillis(200);
+}
@@ -0,0 +1,9 @@
+package com.sccon.infrastructure.exception;
+
+public class ChangeFeedUnavailableException extends RuntimeException {
+
+    public ChangeFeedUnavailableException(String message) {
+        super(message);
+    }
+
+}
@@ -1,6 +1,12 @@
 package com.sccon.infrastructure.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -15,14 +21,35 @@ import java.time.LocalDateTime;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice(basePackages = "com.sccon")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private static final String ERRORS_METRIC = "people.errors";
+
+    private final Counter validationErrors;
+    private final Counter invalidOutputErrors;
+    private final Counter shardErrors;
+    private final Counter requestErrors;
+    private final Counter unexpectedErrors;
+
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+
+        this.validationErrors = registry.counter(ERRORS_METRIC, "handler", "validation");
+        this.invalidOutputErrors = registry.counter(ERRORS_METRIC, "handler", "invalid_output");
+        this.shardErrors = registry.counter(ERRORS_METRIC, "handler", "shard");
+        this.requestErrors = registry.counter(ERRORS_METRIC, "handler", "request");
+        this.unexpectedErrors = registry.counter(ERRORS_METRIC, "handler", "unexpected");
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
                                                                   HttpHeaders headers,
                                                                   HttpStatusCode status,
                                                                   WebRequest request) {
 
+        validationErrors.increment();
+
         String message = ex.getBindingResult()
             .getFieldErrors()
             .stream()
@@ -40,18 +67,78 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @Override
+    protected ResponseEntity<Object> handleTypeMismatch(TypeMismatchException ex,
+                                                        HttpHeaders headers,
+                                                        HttpStatusCode status,
+                                                        WebRequest request) {
+
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InvalidCursorException invalid)
+                return new ResponseEntity<>(invalidCursor(invalid, request.getDescription(false).replace("uri=", "")),
+                    HttpStatus.BAD_REQUEST);
+
+            if (cause instanceof InvalidOutputException invalid)
+                return new ResponseEntity<>(invalidOutput(invalid, request.getDescription(false).replace("uri=", "")),
+                    HttpStatus.BAD_REQUEST);
+        }
+
+        return super.handleTypeMismatch(ex, headers, status, request);
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception ex,
+                                                             Object body,
+                                                             HttpHeaders headers,
+                                                             HttpStatusCode statusCode,
+                                                             WebRequest request) {
+
+        requestErrors.increment();
+
+        return super.handleExceptionInternal(ex, body, headers, statusCode, request);
+    }
+
     @ExceptionHandler(InvalidOutputException.class)
     public ResponseEntity<ErrorResponse> handleInvalidOutput(InvalidOutputException ex, HttpServletRequest req) {
+        return ResponseEntity.badRequest().body(invalidOutput(ex, req.getRequestURI()));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex, HttpServletRequest req) {
+        return ResponseEntity.badRequest().body(invalidCursor(ex, req.getRequestURI()));
+    }
+
+    @ExceptionHandler(ShardUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleShardUnavailable(ShardUnavailableException ex, HttpServletRequest req) {
+
+        shardErrors.increment();
 
         ErrorResponse err = ErrorResponse.builder()
             .timestamp(LocalDateTime.now())
-            .status(HttpStatus.BAD_REQUEST.value())
-            .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+            .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+            .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
             .message(ex.getMessage())
             .path(req.getRequestURI())
             .build();
 
-        return ResponseEntity.badRequest().body(err);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(err);
+    }
+
+    @ExceptionHandler(ChangeFeedUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleChangeFeedUnavailable(ChangeFeedUnavailableException ex,
+                                                                     HttpServletRequest req) {
+
+        requestErrors.increment();
+
+        ErrorResponse err = ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(HttpStatus.NOT_IMPLEMENTED.value())
+            .error(HttpStatus.NOT_IMPLEMENTED.getReasonPhrase())
+            .message(ex.getMessage())
+            .path(req.getRequestURI())
+            .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(err);
     }
 
     @ExceptionHandler(Exception.class)
@@ -59,6 +146,8 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         Exception ex,
         HttpServletRequest request) {
 
+        unexpectedErrors.increment();
+
         ErrorResponse error = ErrorResponse.builder()
             .timestamp(LocalDateTime.now())
             .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
@@ -70,4 +159,30 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    private ErrorResponse invalidOutput(InvalidOutputException ex, String path) {
+
+        invalidOutputErrors.increment();
+
+        return ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(HttpStatus.BAD_REQUEST.value())
+            .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+            .message(ex.getMessage())
+            .path(path)
+            .build();
+    }
+
+    private ErrorResponse invalidCursor(InvalidCursorException ex, String path) {
+
+        requestErrors.increment();
+
+        return ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(HttpStatus.BAD_REQUEST.value())
+            .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+            .message(ex.getMessage())
+            .path(path)
+            .build();
+    }
+
 }
\ No newline at end of file
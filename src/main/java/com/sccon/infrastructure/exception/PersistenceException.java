@@ -0,0 +1,9 @@
+package com.sccon.infrastructure.exception;
+
+public class PersistenceException extends RuntimeException {
+
+    public PersistenceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
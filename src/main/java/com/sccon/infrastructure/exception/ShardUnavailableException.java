@@ -0,0 +1,9 @@
+package com.sccon.infrastructure.exception;
+
+public class ShardUnavailableException extends RuntimeException {
+
+    public ShardUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
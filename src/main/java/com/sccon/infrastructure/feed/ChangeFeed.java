@@ -0,0 +1,81 @@
+package com.sccon.infrastructure.feed;
+
+import com.sccon.domain.enums.ChangeType;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.infrastructure.exception.ChangesExpiredException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class ChangeFeed {
+
+    private final AtomicReferenceArray<PersonChange> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ChangeFeed(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Change feed capacity must be positive");
+
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public long getLastSequence() {
+        return sequence.get();
+    }
+
+    public long publish(ChangeType type, Long id, Person person) {
+        long next = sequence.incrementAndGet();
+
+        slots.set(slot(next), PersonChange.builder()
+            .sequence(next)
+            .type(type)
+            .id(id)
+            .person(person)
+            .build());
+
+        return next;
+    }
+
+    public List<PersonChange> readAfter(long since, int limit) {
+
+        long last = sequence.get();
+
+        if (since < 0 || since > last || last - since > slots.length())
+            throw expired(since);
+
+        List<PersonChange> changes = new ArrayList<>((int) Math.min(limit, last - since));
+
+        for (long next = since + 1; next <= last && changes.size() < limit; next++) {
+            PersonChange change = slots.get(slot(next));
+
+            if (change == null || change.getSequence() < next)
+                break;
+
+            if (change.getSequence() > next)
+                throw expired(since);
+
+            changes.add(change);
+        }
+
+        return changes;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private static ChangesExpiredException expired(long since) {
+        return new ChangesExpiredException("Changes after sequence " + since + " are no longer available");
+    }
+}
@@ -0,0 +1,30 @@
+package com.sccon.infrastructure.index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class FenwickTree {
+
+    private final AtomicLongArray tree;
+
+    public FenwickTree(int size) {
+        this.tree = new AtomicLongArray(size + 1);
+    }
+
+    public int size() {
+        return tree.length() - 1;
+    }
+
+    public void add(int index, long delta) {
+        for (int i = index + 1; i < tree.length(); i += i & -i)
+            tree.addAndGet(i, delta);
+    }
+
+    public long prefixSum(int index) {
+
+        long sum = 0;
+        for (int i = Math.min(index + 1, size()); i > 0; i -= i & -i)
+            sum += tree.get(i);
+
+        return sum;
+    }
+}
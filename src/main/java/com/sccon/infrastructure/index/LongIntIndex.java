@@ -0,0 +1,119 @@
+package com.sccon.infrastructure.index;
+
+import java.util.Arrays;
+
+public class LongIntIndex {
+
+    public static final int ABSENT = -1;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    public LongIntIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (values[slot] == ABSENT)
+                return ABSENT;
+
+            if (keys[slot] == key)
+                return values[slot];
+        }
+    }
+
+    public void put(long key, int value) {
+        if (value < 0)
+            throw new IllegalArgumentException("Indexed values must not be negative");
+
+        if (size + 1 > values.length * LOAD_FACTOR)
+            resize(values.length << 1);
+
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (values[slot] == ABSENT) {
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                return;
+            }
+
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+        }
+    }
+
+    public int remove(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (values[slot] == ABSENT)
+                return ABSENT;
+
+            if (keys[slot] == key) {
+                int removed = values[slot];
+                shiftBack(slot);
+                size--;
+                return removed;
+            }
+        }
+    }
+
+    private void shiftBack(int hole) {
+        for (int slot = (hole + 1) & mask; values[slot] != ABSENT; slot = (slot + 1) & mask) {
+            int home = slot(keys[slot]);
+
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = keys[slot];
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+
+        values[hole] = ABSENT;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == ABSENT)
+                continue;
+
+            int slot = slot(oldKeys[i]);
+            while (values[slot] != ABSENT)
+                slot = (slot + 1) & mask;
+
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(values, ABSENT);
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, (int) Math.ceil(expectedSize / LOAD_FACTOR)) - 1) << 1;
+        return Math.max(capacity, 2);
+    }
+}
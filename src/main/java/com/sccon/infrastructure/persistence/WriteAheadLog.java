@@ -0,0 +1,582 @@
+package com.sccon.infrastructure.persistence;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+@Slf4j
+public class WriteAheadLog implements Closeable {
+
+    private static final int HEADER_BYTES = Integer.BYTES + Byte.BYTES + Long.BYTES;
+    private static final int CHECKSUM_BYTES = Integer.BYTES;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+    private static final int SNAPSHOT_BUFFER_BYTES = 1024 * 1024;
+    private static final long REPLAY_WINDOW_BYTES = 256L * 1024 * 1024;
+    private static final long IDLE_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Settings settings;
+    private final SnapshotSource snapshotSource;
+    private final Pattern fileNames;
+    private final Thread writer;
+    private final ScheduledExecutorService snapshotter;
+
+    private final ReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    private final Object snapshotMonitor = new Object();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    private FileChannel channel;
+    private long generation;
+    private ByteBuffer active = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private ByteBuffer flushing = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private long appended;
+    private long durable;
+    private boolean closed;
+    private IOException failure;
+
+    private boolean fresh;
+    private long recoveredRecords;
+    private volatile Duration recoveryDuration = Duration.ZERO;
+    private volatile Duration snapshotDuration = Duration.ZERO;
+    private volatile long snapshotRecords;
+
+    private WriteAheadLog(Settings settings, SnapshotSource snapshotSource) {
+        this.settings = settings;
+        this.snapshotSource = snapshotSource;
+        this.fileNames = Pattern.compile(Pattern.quote(settings.getName()) + "-(\\d{19})(\\.log|\\.snapshot)(\\.tmp)?");
+        this.writer = new Thread(this::writeLoop, "wal-writer-" + settings.getName());
+        this.writer.setDaemon(true);
+        this.snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "wal-snapshot-" + settings.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static WriteAheadLog open(Settings settings, RecordHandler replayHandler,
+                                     SnapshotSource snapshotSource) throws IOException {
+
+        Files.createDirectories(settings.getDirectory());
+
+        var log = new WriteAheadLog(settings, snapshotSource);
+
+        try {
+            log.recover(replayHandler);
+        } catch (IOException | RuntimeException ex) {
+            log.snapshotter.shutdownNow();
+            if (log.channel != null)
+                log.channel.close();
+            throw ex;
+        }
+
+        log.writer.start();
+
+        long period = settings.getSnapshotInterval().toMillis();
+        if (period > 0)
+            log.snapshotter.scheduleWithFixedDelay(log::snapshotIfDue, period, period, TimeUnit.MILLISECONDS);
+
+        return log;
+    }
+
+    public boolean isFresh() {
+        return fresh;
+    }
+
+    public Duration getRecoveryDuration() {
+        return recoveryDuration;
+    }
+
+    public Duration getSnapshotDuration() {
+        return snapshotDuration;
+    }
+
+    public long getSnapshotRecords() {
+        return snapshotRecords;
+    }
+
+    public <T> T guard(Supplier<T> mutation) {
+
+        checkpointLock.readLock().lock();
+        try {
+            return mutation.get();
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+    }
+
+    public void append(byte type, long key, byte[] payload) {
+
+        lock.lock();
+        try {
+            if (closed || failure != null)
+                throw new IllegalStateException("Write-ahead log is not accepting records", failure);
+
+            active = putRecord(active, type, key, payload);
+            appended++;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void sync() {
+
+        lock.lock();
+        try {
+            long target = appended;
+
+            while (durable < target && failure == null)
+                flushed.awaitUninterruptibly();
+
+            if (durable < target)
+                throw new UncheckedIOException("Could not persist write-ahead log records", failure);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void snapshot() throws IOException {
+
+        synchronized (snapshotMonitor) {
+            long started = System.nanoTime();
+            long snapshotGeneration;
+
+            checkpointLock.writeLock().lock();
+            try {
+                sync();
+                snapshotGeneration = roll();
+            } finally {
+                checkpointLock.writeLock().unlock();
+            }
+
+            Path temporary = file(snapshotGeneration, SNAPSHOT_SUFFIX + TEMPORARY_SUFFIX);
+            var sink = new SnapshotWriter(FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+
+            try (sink) {
+                snapshotSource.writeTo(sink);
+            }
+
+            Files.move(temporary, file(snapshotGeneration, SNAPSHOT_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            deleteBefore(snapshotGeneration);
+
+            snapshotRecords = sink.records;
+            snapshotDuration = Duration.ofNanos(System.nanoTime() - started);
+
+            log.info("Snapshot {} of {} written with {} records in {} ms",
+                snapshotGeneration, settings.getName(), snapshotRecords, snapshotDuration.toMillis());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        lock.lock();
+        try {
+            closed = true;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void recover(RecordHandler handler) throws IOException {
+
+        long started = System.nanoTime();
+        List<Long> segments = generations(SEGMENT_SUFFIX);
+        List<Long> snapshots = generations(SNAPSHOT_SUFFIX);
+
+        fresh = segments.isEmpty() && snapshots.isEmpty();
+        generation = snapshots.isEmpty() ? 0 : snapshots.get(snapshots.size() - 1);
+
+        if (!snapshots.isEmpty()) {
+            Path snapshot = file(generation, SNAPSHOT_SUFFIX);
+
+            try (var snapshotChannel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                if (replay(snapshotChannel, handler) != snapshotChannel.size())
+                    throw new IOException("Corrupted snapshot " + snapshot);
+            }
+        }
+
+        for (long segment : segments) {
+            if (segment < generation)
+                continue;
+
+            if (channel != null)
+                channel.close();
+
+            channel = FileChannel.open(file(segment, SEGMENT_SUFFIX), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            generation = segment;
+
+            long end = replay(channel, handler);
+            if (end < channel.size())
+                channel.truncate(end);
+            channel.position(end);
+        }
+
+        if (channel == null)
+            channel = FileChannel.open(file(generation, SEGMENT_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        deleteBefore(generation);
+        recoveryDuration = Duration.ofNanos(System.nanoTime() - started);
+
+        log.info("Recovered {} records of {} in {} ms",
+            recoveredRecords, settings.getName(), recoveryDuration.toMillis());
+    }
+
+    private long replay(FileChannel source, RecordHandler handler) throws IOException {
+
+        long size = source.size();
+        long position = 0;
+        long window = REPLAY_WINDOW_BYTES;
+
+        while (position < size) {
+            long available = size - position;
+            MappedByteBuffer buffer = source.map(FileChannel.MapMode.READ_ONLY, position, Math.min(window, available));
+            int offset = 0;
+            long needed = 0;
+
+            while (offset < buffer.limit()) {
+                needed = recordBytes(buffer, offset);
+                if (needed < 0 || needed > buffer.limit() - offset)
+                    break;
+
+                if (!readRecord(buffer, offset, (int) needed, handler)) {
+                    needed = -1;
+                    break;
+                }
+
+                offset += (int) needed;
+                recoveredRecords++;
+            }
+
+            position += offset;
+
+            if (needed < 0 || buffer.limit() == available)
+                break;
+
+            window = Math.max(REPLAY_WINDOW_BYTES, needed);
+        }
+
+        return position;
+    }
+
+    private long roll() throws IOException {
+
+        long next = generation + 1;
+        var rolled = FileChannel.open(file(next, SEGMENT_SUFFIX),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        lock.lock();
+        try {
+            channel = rolled;
+            generation = next;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        return next;
+    }
+
+    private void snapshotIfDue() {
+        try {
+            FileChannel segment;
+
+            lock.lock();
+            try {
+                segment = channel;
+            } finally {
+                lock.unlock();
+            }
+
+            if (segment.size() >= settings.getSnapshotThresholdBytes())
+                snapshot();
+        } catch (IOException | RuntimeException ex) {
+            log.error("Could not write snapshot of {}", settings.getName(), ex);
+        }
+    }
+
+    private void deleteBefore(long keptGeneration) throws IOException {
+
+        try (Stream<Path> files = Files.list(settings.getDirectory())) {
+            for (Path file : files.toList()) {
+                Matcher matcher = fileNames.matcher(file.getFileName().toString());
+
+                if (matcher.matches() && Long.parseLong(matcher.group(1)) < keptGeneration)
+                    Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private List<Long> generations(String suffix) throws IOException {
+
+        try (Stream<Path> files = Files.list(settings.getDirectory())) {
+            return files
+                .map(file -> fileNames.matcher(file.getFileName().toString()))
+                .filter(matcher -> matcher.matches() && suffix.equals(matcher.group(2)) && matcher.group(3) == null)
+                .map(matcher -> Long.parseLong(matcher.group(1)))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private Path file(long fileGeneration, String suffix) {
+        return settings.getDirectory().resolve(String.format("%s-%019d%s", settings.getName(), fileGeneration, suffix));
+    }
+
+    private void writeLoop() {
+
+        FileChannel current = null;
+        long lastForce = System.nanoTime();
+        boolean unforced = false;
+        boolean closing = false;
+
+        while (!closing) {
+            FileChannel target;
+            long batchEnd;
+
+            lock.lock();
+            try {
+                if (active.position() == 0 && !closed)
+                    awaitPending();
+
+                ByteBuffer full = active;
+                active = flushing;
+                flushing = full;
+                batchEnd = appended;
+                closing = closed;
+                target = channel;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                if (target != current) {
+                    if (current != null)
+                        retire(current, unforced);
+
+                    current = target;
+                    unforced = false;
+                }
+
+                flushing.flip();
+                unforced |= flushing.hasRemaining();
+                while (flushing.hasRemaining())
+                    current.write(flushing);
+                flushing.clear();
+
+                if (unforced && forceDue(lastForce, closing)) {
+                    current.force(false);
+                    lastForce = System.nanoTime();
+                    unforced = false;
+                }
+
+                markDurable(batchEnd, null);
+            } catch (IOException ex) {
+                markDurable(durable, ex);
+                return;
+            }
+        }
+    }
+
+    private void retire(FileChannel segment, boolean unforced) throws IOException {
+
+        if (unforced && settings.getFsyncPolicy() != FsyncPolicy.NEVER)
+            segment.force(false);
+
+        segment.close();
+    }
+
+    private boolean forceDue(long lastForce, boolean closing) {
+        return switch (settings.getFsyncPolicy()) {
+            case ALWAYS -> true;
+            case INTERVAL -> closing || System.nanoTime() - lastForce >= settings.getFsyncInterval().toNanos();
+            case NEVER -> false;
+        };
+    }
+
+    private void awaitPending() {
+        try {
+            pending.awaitNanos(settings.getFsyncPolicy() == FsyncPolicy.INTERVAL
+                ? settings.getFsyncInterval().toNanos()
+                : IDLE_WAIT_NANOS);
+        } catch (InterruptedException ex) {
+            closed = true;
+        }
+    }
+
+    private void markDurable(long batchEnd, IOException ex) {
+
+        lock.lock();
+        try {
+            durable = batchEnd;
+            failure = ex;
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static ByteBuffer putRecord(ByteBuffer buffer, byte type, long key, byte[] payload) {
+
+        int recordBytes = HEADER_BYTES + payload.length + CHECKSUM_BYTES;
+
+        if (buffer.remaining() < recordBytes)
+            buffer = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + recordBytes))
+                .put(buffer.flip());
+
+        int start = buffer.position();
+        buffer.putInt(payload.length).put(type).putLong(key).put(payload);
+        buffer.putInt(checksum(buffer.slice(start, HEADER_BYTES + payload.length)));
+
+        return buffer;
+    }
+
+    private static long recordBytes(ByteBuffer buffer, int offset) {
+
+        if (buffer.limit() - offset < HEADER_BYTES)
+            return HEADER_BYTES;
+
+        int length = buffer.getInt(offset);
+
+        return length < 0 ? -1 : (long) HEADER_BYTES + length + CHECKSUM_BYTES;
+    }
+
+    private static boolean readRecord(ByteBuffer buffer, int offset, int recordBytes, RecordHandler handler) {
+
+        int length = recordBytes - HEADER_BYTES - CHECKSUM_BYTES;
+
+        if (checksum(buffer.slice(offset, HEADER_BYTES + length)) != buffer.getInt(offset + HEADER_BYTES + length))
+            return false;
+
+        handler.accept(buffer.get(offset + Integer.BYTES), buffer.getLong(offset + Integer.BYTES + Byte.BYTES),
+            buffer.slice(offset + HEADER_BYTES, length).asReadOnlyBuffer());
+
+        return true;
+    }
+
+    private static int checksum(ByteBuffer record) {
+        var crc = new CRC32C();
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    public enum FsyncPolicy {
+        ALWAYS,
+        INTERVAL,
+        NEVER
+    }
+
+    @Value
+    @Builder
+    public static class Settings {
+        Path directory;
+        String name;
+        FsyncPolicy fsyncPolicy;
+        Duration fsyncInterval;
+        Duration snapshotInterval;
+        long snapshotThresholdBytes;
+    }
+
+    @FunctionalInterface
+    public interface RecordHandler {
+
+        void accept(byte type, long key, ByteBuffer payload);
+    }
+
+    @FunctionalInterface
+    public interface SnapshotSink {
+
+        void write(byte type, long key, byte[] payload) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface SnapshotSource {
+
+        void writeTo(SnapshotSink sink) throws IOException;
+    }
+
+    private static class SnapshotWriter implements SnapshotSink, Closeable {
+
+        private final FileChannel target;
+        private ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_BUFFER_BYTES);
+        private long records;
+
+        private SnapshotWriter(FileChannel target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(byte type, long key, byte[] payload) throws IOException {
+
+            if (buffer.remaining() < HEADER_BYTES + payload.length + CHECKSUM_BYTES)
+                flush();
+
+            buffer = putRecord(buffer, type, key, payload);
+            records++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+                target.force(true);
+            } finally {
+                target.close();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                target.write(buffer);
+            buffer.clear();
+        }
+    }
+}
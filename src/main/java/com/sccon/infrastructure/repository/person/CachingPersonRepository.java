@@ -0,0 +1,166 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.model.PersonStats;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+public class CachingPersonRepository implements PersonRepositoryPort, Closeable {
+
+    private final PersonRepositoryPort delegate;
+    private final Cache<Long, Person> people;
+
+    public CachingPersonRepository(PersonRepositoryPort delegate, long maximumSize, Duration timeToLive) {
+        this(delegate, maximumSize, timeToLive, Ticker.systemTicker());
+    }
+
+    public CachingPersonRepository(PersonRepositoryPort delegate, long maximumSize, Duration timeToLive, Ticker ticker) {
+        this.delegate = delegate;
+        this.people = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .ticker(ticker)
+            .executor(Runnable::run)
+            .recordStats()
+            .build();
+    }
+
+    public PersonRepositoryPort getDelegate() {
+        return delegate;
+    }
+
+    public Cache<Long, Person> getCache() {
+        return people;
+    }
+
+    public List<Person> findAll() {
+        return delegate.findAll();
+    }
+
+    public List<Person> findByNameBetween(String from, String to) {
+        return delegate.findByNameBetween(from, to);
+    }
+
+    public List<Person> findByNamePrefix(String prefix) {
+        return delegate.findByNamePrefix(prefix);
+    }
+
+    public List<Person> findPage(PersonCursor after, int limit) {
+        return delegate.findPage(after, limit);
+    }
+
+    public List<Person> findPage(PersonQuery query, PersonCursor after, int limit) {
+        return delegate.findPage(query, after, limit);
+    }
+
+    public Stream<Person> streamAll() {
+        return delegate.streamAll();
+    }
+
+    public Optional<Person> findById(Long id) {
+        return Optional.ofNullable(people.get(id, key -> delegate.findById(key).orElse(null)));
+    }
+
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    public void save(Person person) {
+        delegate.save(person);
+        people.invalidate(person.getId());
+    }
+
+    public boolean insertIfAbsent(Person person) {
+        boolean inserted = delegate.insertIfAbsent(person);
+        people.invalidate(person.getId());
+        return inserted;
+    }
+
+    public boolean replaceIfPresent(Person person) {
+        boolean replaced = delegate.replaceIfPresent(person);
+        people.invalidate(person.getId());
+        return replaced;
+    }
+
+    public Optional<Person> computeIfPresent(Long id, UnaryOperator<Person> update) {
+        Optional<Person> updated = delegate.computeIfPresent(id, update);
+        people.invalidate(id);
+        return updated;
+    }
+
+    public void delete(Long id) {
+        removeIfPresent(id);
+    }
+
+    public boolean removeIfPresent(Long id) {
+        boolean removed = delegate.removeIfPresent(id);
+        people.invalidate(id);
+        return removed;
+    }
+
+    public List<PersonBatchResult> applyAll(List<PersonBatchItem> items) {
+        List<PersonBatchResult> results = delegate.applyAll(items);
+        people.invalidateAll(items.stream().map(item -> item.getPerson().getId()).toList());
+        return results;
+    }
+
+    public PersonStats stats() {
+        return delegate.stats();
+    }
+
+    public long countHiredOnOrBefore(LocalDate date) {
+        return delegate.countHiredOnOrBefore(date);
+    }
+
+    public Optional<LocalDate> findEarliestHireDate() {
+        return delegate.findEarliestHireDate();
+    }
+
+    public List<PersonChange> findChangesAfter(long sequence, int limit) {
+        return delegate.findChangesAfter(sequence, limit);
+    }
+
+    public long getLastChangeSequence() {
+        return delegate.getLastChangeSequence();
+    }
+
+    public Long getNextId() {
+        return delegate.getNextId();
+    }
+
+    public long getLastId() {
+        return delegate.getLastId();
+    }
+
+    public long getVersion() {
+        return delegate.getVersion();
+    }
+
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        people.invalidateAll();
+
+        if (delegate instanceof Closeable closeable)
+            closeable.close();
+    }
+}
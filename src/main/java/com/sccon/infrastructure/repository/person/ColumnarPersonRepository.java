@@ -0,0 +1,885 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.enums.BatchStatus;
+import com.sccon.domain.enums.ChangeType;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.model.PersonStats;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import com.sccon.infrastructure.feed.ChangeFeed;
+import com.sccon.infrastructure.index.FenwickTree;
+import com.sccon.infrastructure.index.LongIntIndex;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ColumnarPersonRepository implements PersonRepositoryPort {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int STREAM_CHUNK = 1024;
+    private static final int BULK_THRESHOLD = 64;
+    private static final int NULL_DAY = Integer.MIN_VALUE;
+    private static final byte NULL_SCALE = Byte.MIN_VALUE;
+    private static final int NULL_NAME = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongIntIndex rows = new LongIntIndex(INITIAL_CAPACITY);
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int[] birthDays = new int[INITIAL_CAPACITY];
+    private int[] hireDays = new int[INITIAL_CAPACITY];
+    private long[] salaries = new long[INITIAL_CAPACITY];
+    private byte[] salaryScales = new byte[INITIAL_CAPACITY];
+    private int[] nameOffsets = new int[INITIAL_CAPACITY];
+    private int[] nameLengths = new int[INITIAL_CAPACITY];
+    private int[] nameOrder = new int[INITIAL_CAPACITY];
+    private char[] names = new char[INITIAL_CAPACITY * 16];
+    private int namesUsed;
+    private int namesGarbage;
+    private boolean ordered = true;
+    private int size;
+
+    private final PayrollTotal payroll = new PayrollTotal();
+    private long salaried;
+    private final FenwickTree hiresByDay =
+        new FenwickTree((int) (Person.LAST_HIRE_DATE.toEpochDay() - Person.FIRST_HIRE_DATE.toEpochDay()) + 1);
+
+    private final AtomicLong lastId = new AtomicLong();
+    private final AtomicLong lastVersion = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private final ChangeFeed changes;
+
+    public ColumnarPersonRepository() {
+        this(PersonRepository.DEFAULT_CHANGE_CAPACITY);
+    }
+
+    public ColumnarPersonRepository(int changeCapacity) {
+        this.changes = new ChangeFeed(changeCapacity);
+        seed();
+    }
+
+    private void seed() {
+
+        save(Person.builder()
+            .id(1L)
+            .name("José da Silva")
+            .birthDate(LocalDate.of(2000, 4, 6))
+            .hireDate(LocalDate.of(2020, 5, 10))
+            .salary(BigDecimal.valueOf(1558))
+            .build());
+
+        save(Person.builder()
+            .id(2L)
+            .name("Maria Oliveira")
+            .birthDate(LocalDate.of(1990, 8, 12))
+            .hireDate(LocalDate.of(2015, 1, 5))
+            .salary(BigDecimal.valueOf(2100))
+            .build());
+
+        save(Person.builder()
+            .id(3L)
+            .name("Carlos Souza")
+            .birthDate(LocalDate.of(1985, 11, 30))
+            .hireDate(LocalDate.of(2010, 3, 20))
+            .salary(BigDecimal.valueOf(1987))
+            .build());
+    }
+
+    public List<Person> findAll() {
+        return inNameOrder(() -> materialize(0, size, size));
+    }
+
+    public List<Person> findByNameBetween(String from, String to) {
+        return inNameOrder(() -> {
+            int start = lowerBound(from, Long.MIN_VALUE);
+            int end = lowerBound(to, Long.MIN_VALUE);
+
+            return start >= end ? List.of() : materialize(start, end, end - start);
+        });
+    }
+
+    public List<Person> findByNamePrefix(String prefix) {
+        return inNameOrder(() -> {
+            List<Person> people = new ArrayList<>();
+
+            for (int position = lowerBound(prefix, Long.MIN_VALUE); position < size; position++) {
+                int row = nameOrder[position];
+
+                if (!nameStartsWith(row, prefix))
+                    break;
+
+                people.add(person(row));
+            }
+
+            return people;
+        });
+    }
+
+    public List<Person> findPage(PersonCursor after, int limit) {
+        return inNameOrder(() -> {
+            int start = after == null ? 0 : upperBound(after.getName(), after.getId());
+
+            return materialize(start, size, limit);
+        });
+    }
+
+    public List<Person> findPage(PersonQuery query, PersonCursor after, int limit) {
+
+        if (query.isEmpty())
+            return findPage(after, limit);
+
+        Filter filter = new Filter(query);
+
+        return inNameOrder(() -> {
+            int start = after == null ? 0 : upperBound(after.getName(), after.getId());
+
+            if (query.getNameStartsWith() != null)
+                start = Math.max(start, lowerBound(query.getNameStartsWith(), Long.MIN_VALUE));
+
+            List<Person> people = new ArrayList<>(Math.min(limit, 64));
+
+            for (int position = start; position < size && people.size() < limit; position++) {
+                int row = nameOrder[position];
+
+                if (query.getNameStartsWith() != null && !nameStartsWith(row, query.getNameStartsWith()))
+                    break;
+
+                if (filter.matches(row))
+                    people.add(person(row));
+            }
+
+            return people;
+        });
+    }
+
+    public Stream<Person> streamAll() {
+
+        Iterator<Person> pages = new Iterator<>() {
+
+            private List<Person> page = findPage(null, STREAM_CHUNK);
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == page.size() && page.size() == STREAM_CHUNK) {
+                    page = findPage(PersonCursor.of(page.get(page.size() - 1)), STREAM_CHUNK);
+                    next = 0;
+                }
+
+                return next < page.size();
+            }
+
+            @Override
+            public Person next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                return page.get(next++);
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages,
+            Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    public Optional<Person> findById(Long id) {
+        return read(() -> {
+            int row = rows.get(id);
+
+            return row == LongIntIndex.ABSENT ? Optional.empty() : Optional.of(person(row));
+        });
+    }
+
+    public void save(Person person) {
+        requireStorable(person);
+        lastId.accumulateAndGet(person.getId(), Math::max);
+
+        write(() -> {
+            int row = rows.get(person.getId());
+
+            if (row == LongIntIndex.ABSENT)
+                append(person);
+            else
+                overwrite(row, person);
+
+            return null;
+        });
+    }
+
+    public boolean insertIfAbsent(Person person) {
+        return write(() -> insert(person));
+    }
+
+    public boolean replaceIfPresent(Person person) {
+        return write(() -> replace(person));
+    }
+
+    public Optional<Person> computeIfPresent(Long id, UnaryOperator<Person> update) {
+        return write(() -> {
+            int row = rows.get(id);
+
+            if (row == LongIntIndex.ABSENT)
+                return Optional.empty();
+
+            overwrite(row, update.apply(person(row)));
+
+            return Optional.of(person(row));
+        });
+    }
+
+    public void delete(Long id) {
+        removeIfPresent(id);
+    }
+
+    public boolean removeIfPresent(Long id) {
+        return write(() -> remove(id));
+    }
+
+    public List<PersonBatchResult> applyAll(List<PersonBatchItem> items) {
+
+        return write(() -> {
+            if (items.size() >= BULK_THRESHOLD)
+                ordered = false;
+
+            List<PersonBatchResult> results = new ArrayList<>(items.size());
+
+            for (PersonBatchItem item : items) {
+                Person person = item.getPerson();
+
+                BatchStatus status = switch (item.getOperation()) {
+                    case CREATE -> insert(person) ? BatchStatus.CREATED : BatchStatus.CONFLICT;
+                    case UPDATE -> replace(person) ? BatchStatus.UPDATED : BatchStatus.NOT_FOUND;
+                    case DELETE -> remove(person.getId()) ? BatchStatus.DELETED : BatchStatus.NOT_FOUND;
+                };
+
+                results.add(PersonBatchResult.builder().id(person.getId()).status(status).build());
+            }
+
+            return results;
+        });
+    }
+
+    public boolean existsById(Long id) {
+        return read(() -> rows.get(id) != LongIntIndex.ABSENT);
+    }
+
+    public PersonStats stats() {
+        return read(() -> {
+            int lowest = -1;
+            int highest = -1;
+
+            for (int row = 0; row < size; row++) {
+                if (salaryScales[row] == NULL_SCALE)
+                    continue;
+
+                if (lowest < 0 || compareSalaries(row, lowest) < 0)
+                    lowest = row;
+
+                if (highest < 0 || compareSalaries(row, highest) > 0)
+                    highest = row;
+            }
+
+            BigDecimal total = payroll.total();
+
+            return PersonStats.builder()
+                .headcount(size)
+                .salaried(salaried)
+                .totalPayroll(total)
+                .averageSalary(salaried == 0 ? null
+                    : total.divide(BigDecimal.valueOf(salaried), 2, RoundingMode.HALF_EVEN))
+                .minSalary(lowest < 0 ? null : salary(lowest))
+                .maxSalary(highest < 0 ? null : salary(highest))
+                .build();
+        });
+    }
+
+    public long countHiredOnOrBefore(LocalDate date) {
+
+        if (date.isBefore(Person.FIRST_HIRE_DATE))
+            return 0;
+
+        return hiresByDay.prefixSum(hireDay(date));
+    }
+
+    public Optional<LocalDate> findEarliestHireDate() {
+        return read(() -> {
+            int earliest = NULL_DAY;
+
+            for (int row = 0; row < size; row++)
+                if (hireDays[row] != NULL_DAY && (earliest == NULL_DAY || hireDays[row] < earliest))
+                    earliest = hireDays[row];
+
+            return earliest == NULL_DAY ? Optional.empty() : Optional.of(LocalDate.ofEpochDay(earliest));
+        });
+    }
+
+    public List<PersonChange> findChangesAfter(long sequence, int limit) {
+        return changes.readAfter(sequence, limit);
+    }
+
+    public long getLastChangeSequence() {
+        return changes.getLastSequence();
+    }
+
+    public Long getNextId() {
+        return lastId.incrementAndGet();
+    }
+
+    public long getLastId() {
+        return lastId.get();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public int size() {
+        return read(() -> size);
+    }
+
+    private boolean insert(Person person) {
+        requireStorable(person);
+        lastId.accumulateAndGet(person.getId(), Math::max);
+
+        if (rows.get(person.getId()) != LongIntIndex.ABSENT)
+            return false;
+
+        append(person);
+        return true;
+    }
+
+    private boolean replace(Person person) {
+        int row = rows.get(person.getId());
+
+        if (row == LongIntIndex.ABSENT)
+            return false;
+
+        overwrite(row, person);
+        return true;
+    }
+
+    private boolean remove(Long id) {
+        int row = rows.get(id);
+
+        if (row == LongIntIndex.ABSENT)
+            return false;
+
+        erase(row);
+        return true;
+    }
+
+    private void append(Person person) {
+        requireStorable(person);
+        ensureCapacity(size + 1);
+
+        int row = size++;
+        store(row, person);
+        rows.put(person.getId(), row);
+
+        if (ordered)
+            insertOrder(row);
+
+        published(ChangeType.SAVED, row);
+    }
+
+    private void overwrite(int row, Person person) {
+        requireStorable(person);
+
+        boolean reorder = ordered && !sameName(row, person.getName());
+
+        if (reorder)
+            removeOrder(row);
+
+        account(row, -1);
+        releaseName(row);
+        store(row, person);
+
+        if (reorder)
+            insertOrder(row);
+
+        published(ChangeType.SAVED, row);
+    }
+
+    private void erase(int row) {
+        long id = ids[row];
+
+        if (ordered)
+            removeOrder(row);
+
+        account(row, -1);
+        releaseName(row);
+        rows.remove(id);
+
+        int last = --size;
+
+        if (row != last) {
+            if (ordered)
+                nameOrder[searchOrder(last, size)] = row;
+
+            move(last, row);
+            rows.put(ids[row], row);
+        }
+
+        version.incrementAndGet();
+        changes.publish(ChangeType.DELETED, id, null);
+    }
+
+    private void published(ChangeType type, int row) {
+        version.incrementAndGet();
+        changes.publish(type, ids[row], person(row));
+    }
+
+    private void store(int row, Person person) {
+        ids[row] = person.getId();
+        versions[row] = lastVersion.incrementAndGet();
+        birthDays[row] = day(person.getBirthDate());
+        hireDays[row] = day(person.getHireDate());
+        storeSalary(row, person.getSalary());
+        storeName(row, person.getName());
+        account(row, 1);
+    }
+
+    private void move(int from, int to) {
+        ids[to] = ids[from];
+        versions[to] = versions[from];
+        birthDays[to] = birthDays[from];
+        hireDays[to] = hireDays[from];
+        salaries[to] = salaries[from];
+        salaryScales[to] = salaryScales[from];
+        nameOffsets[to] = nameOffsets[from];
+        nameLengths[to] = nameLengths[from];
+    }
+
+    private void storeSalary(int row, BigDecimal salary) {
+
+        if (salary == null) {
+            salaries[row] = 0;
+            salaryScales[row] = NULL_SCALE;
+            return;
+        }
+
+        salaries[row] = salary.unscaledValue().longValue();
+        salaryScales[row] = (byte) salary.scale();
+    }
+
+    private static void requireStorable(Person person) {
+
+        BigDecimal salary = person.getSalary();
+
+        if (salary != null && (salary.scale() <= NULL_SCALE || salary.scale() > Byte.MAX_VALUE
+            || salary.unscaledValue().bitLength() >= Long.SIZE
+            || salary.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().bitLength() >= Long.SIZE))
+            throw new IllegalArgumentException("Salary " + salary + " does not fit the columnar store");
+
+        for (LocalDate date : new LocalDate[]{person.getBirthDate(), person.getHireDate()})
+            if (date != null && (date.toEpochDay() <= NULL_DAY || date.toEpochDay() > Integer.MAX_VALUE))
+                throw new IllegalArgumentException("Date " + date + " does not fit the columnar store");
+
+        if (person.getHireDate() != null && !Person.isSupportedHireDate(person.getHireDate()))
+            throw new IllegalArgumentException("Hire date " + person.getHireDate() + " is outside "
+                + Person.FIRST_HIRE_DATE + ".." + Person.LAST_HIRE_DATE);
+    }
+
+    private void storeName(int row, String name) {
+
+        nameOffsets[row] = 0;
+        nameLengths[row] = NULL_NAME;
+
+        if (name == null)
+            return;
+
+        reserveNames(name.length());
+
+        name.getChars(0, name.length(), names, namesUsed);
+        nameOffsets[row] = namesUsed;
+        nameLengths[row] = name.length();
+        namesUsed += name.length();
+    }
+
+    private void releaseName(int row) {
+        if (nameLengths[row] > 0)
+            namesGarbage += nameLengths[row];
+
+        nameLengths[row] = NULL_NAME;
+    }
+
+    private void reserveNames(int length) {
+
+        if (namesUsed + length <= names.length)
+            return;
+
+        int live = namesUsed - namesGarbage;
+        char[] arena = new char[Math.max(names.length, (live + length) * 3 / 2 + INITIAL_CAPACITY)];
+        int used = 0;
+
+        for (int row = 0; row < size; row++) {
+            if (nameLengths[row] <= 0)
+                continue;
+
+            System.arraycopy(names, nameOffsets[row], arena, used, nameLengths[row]);
+            nameOffsets[row] = used;
+            used += nameLengths[row];
+        }
+
+        names = arena;
+        namesUsed = used;
+        namesGarbage = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+
+        if (capacity <= ids.length)
+            return;
+
+        int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+
+        ids = Arrays.copyOf(ids, grown);
+        versions = Arrays.copyOf(versions, grown);
+        birthDays = Arrays.copyOf(birthDays, grown);
+        hireDays = Arrays.copyOf(hireDays, grown);
+        salaries = Arrays.copyOf(salaries, grown);
+        salaryScales = Arrays.copyOf(salaryScales, grown);
+        nameOffsets = Arrays.copyOf(nameOffsets, grown);
+        nameLengths = Arrays.copyOf(nameLengths, grown);
+        nameOrder = Arrays.copyOf(nameOrder, grown);
+    }
+
+    private void account(int row, int sign) {
+
+        if (salaryScales[row] != NULL_SCALE) {
+            payroll.add(salary(row), sign);
+            salaried += sign;
+        }
+
+        if (hireDays[row] != NULL_DAY)
+            hiresByDay.add(hireDay(LocalDate.ofEpochDay(hireDays[row])), sign);
+    }
+
+    private int hireDay(LocalDate date) {
+        long day = date.toEpochDay() - Person.FIRST_HIRE_DATE.toEpochDay();
+
+        return (int) Math.min(day, hiresByDay.size() - 1);
+    }
+
+    private Person person(int row) {
+        return Person.builder()
+            .id(ids[row])
+            .name(nameLengths[row] == NULL_NAME ? null : new String(names, nameOffsets[row], nameLengths[row]))
+            .birthDate(birthDays[row] == NULL_DAY ? null : LocalDate.ofEpochDay(birthDays[row]))
+            .hireDate(hireDays[row] == NULL_DAY ? null : LocalDate.ofEpochDay(hireDays[row]))
+            .salary(salary(row))
+            .version(versions[row])
+            .build();
+    }
+
+    private BigDecimal salary(int row) {
+        return salaryScales[row] == NULL_SCALE ? null : BigDecimal.valueOf(salaries[row], salaryScales[row]);
+    }
+
+    private List<Person> materialize(int from, int to, int limit) {
+
+        int end = (int) Math.min(to, (long) from + limit);
+        List<Person> people = new ArrayList<>(Math.max(0, end - from));
+
+        for (int position = from; position < end; position++)
+            people.add(person(nameOrder[position]));
+
+        return people;
+    }
+
+    private void insertOrder(int row) {
+        int position = -(searchOrder(row, size - 1) + 1);
+
+        System.arraycopy(nameOrder, position, nameOrder, position + 1, size - 1 - position);
+        nameOrder[position] = row;
+    }
+
+    private void removeOrder(int row) {
+        int position = searchOrder(row, size);
+
+        System.arraycopy(nameOrder, position + 1, nameOrder, position, size - 1 - position);
+    }
+
+    private int searchOrder(int row, int count) {
+
+        int low = 0;
+        int high = count - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compareRows(nameOrder[mid], row);
+
+            if (comparison < 0)
+                low = mid + 1;
+            else if (comparison > 0)
+                high = mid - 1;
+            else
+                return mid;
+        }
+
+        return -(low + 1);
+    }
+
+    private int lowerBound(String name, long id) {
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (compareToKey(nameOrder[mid], name, id) < 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+
+        return low;
+    }
+
+    private int upperBound(String name, long id) {
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (compareToKey(nameOrder[mid], name, id) <= 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+
+        return low;
+    }
+
+    private void reorder() {
+
+        int[] order = new int[size];
+        int[] buffer = new int[size];
+
+        for (int row = 0; row < size; row++)
+            order[row] = row;
+
+        for (int width = 1; width < size; width <<= 1) {
+            for (int low = 0; low < size - width; low += width << 1) {
+                int mid = low + width;
+                int high = Math.min(low + (width << 1), size);
+                int left = low;
+                int right = mid;
+                int out = low;
+
+                while (left < mid && right < high)
+                    buffer[out++] = compareRows(order[left], order[right]) <= 0 ? order[left++] : order[right++];
+
+                while (left < mid)
+                    buffer[out++] = order[left++];
+
+                while (right < high)
+                    buffer[out++] = order[right++];
+
+                System.arraycopy(buffer, low, order, low, high - low);
+            }
+        }
+
+        System.arraycopy(order, 0, nameOrder, 0, size);
+        ordered = true;
+    }
+
+    private int compareRows(int left, int right) {
+
+        int comparison = compareNames(left, right);
+
+        return comparison != 0 ? comparison : Long.compare(ids[left], ids[right]);
+    }
+
+    private int compareToKey(int row, String name, long id) {
+
+        int comparison;
+
+        if (name == null)
+            comparison = nameLengths[row] == NULL_NAME ? 0 : 1;
+        else if (nameLengths[row] == NULL_NAME)
+            comparison = -1;
+        else
+            comparison = compareChars(row, name);
+
+        return comparison != 0 ? comparison : Long.compare(ids[row], id);
+    }
+
+    private int compareNames(int left, int right) {
+
+        if (nameLengths[left] == NULL_NAME || nameLengths[right] == NULL_NAME)
+            return Boolean.compare(nameLengths[left] != NULL_NAME, nameLengths[right] != NULL_NAME);
+
+        int common = Math.min(nameLengths[left], nameLengths[right]);
+
+        for (int i = 0; i < common; i++) {
+            char leftChar = names[nameOffsets[left] + i];
+            char rightChar = names[nameOffsets[right] + i];
+
+            if (leftChar != rightChar)
+                return leftChar - rightChar;
+        }
+
+        return nameLengths[left] - nameLengths[right];
+    }
+
+    private int compareChars(int row, String name) {
+
+        int common = Math.min(nameLengths[row], name.length());
+
+        for (int i = 0; i < common; i++) {
+            char left = names[nameOffsets[row] + i];
+            char right = name.charAt(i);
+
+            if (left != right)
+                return left - right;
+        }
+
+        return nameLengths[row] - name.length();
+    }
+
+    private boolean nameStartsWith(int row, String prefix) {
+
+        if (nameLengths[row] < prefix.length())
+            return false;
+
+        for (int i = 0; i < prefix.length(); i++)
+            if (names[nameOffsets[row] + i] != prefix.charAt(i))
+                return false;
+
+        return true;
+    }
+
+    private boolean sameName(int row, String name) {
+        return name == null ? nameLengths[row] == NULL_NAME : nameLengths[row] == name.length() && compareChars(row, name) == 0;
+    }
+
+    private int compareSalaries(int left, int right) {
+
+        if (salaryScales[left] == salaryScales[right])
+            return Long.compare(salaries[left], salaries[right]);
+
+        return salary(left).compareTo(salary(right));
+    }
+
+    private <T> T inNameOrder(Supplier<T> reader) {
+
+        while (true) {
+            Lock readLock = lock.readLock();
+            readLock.lock();
+            try {
+                if (ordered)
+                    return reader.get();
+            } finally {
+                readLock.unlock();
+            }
+
+            write(() -> {
+                if (!ordered)
+                    reorder();
+
+                return null;
+            });
+        }
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return reader.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> writer) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            return writer.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static int day(LocalDate date) {
+        return date == null ? NULL_DAY : Math.toIntExact(date.toEpochDay());
+    }
+
+    private final class Filter {
+
+        private final int hiredFrom;
+        private final int hiredTo;
+        private final boolean hireDateRange;
+        private final SalaryBound salaryGte;
+        private final SalaryBound salaryLte;
+
+        private Filter(PersonQuery query) {
+            this.hireDateRange = query.hasHireDateRange();
+            this.hiredFrom = query.getHiredFrom() == null ? Integer.MIN_VALUE : day(query.getHiredFrom());
+            this.hiredTo = query.getHiredTo() == null ? Integer.MAX_VALUE : day(query.getHiredTo());
+            this.salaryGte = SalaryBound.of(query.getSalaryGte());
+            this.salaryLte = SalaryBound.of(query.getSalaryLte());
+        }
+
+        private boolean matches(int row) {
+
+            if (hireDateRange && (hireDays[row] == NULL_DAY || hireDays[row] < hiredFrom || hireDays[row] > hiredTo))
+                return false;
+
+            if (salaryGte == null && salaryLte == null)
+                return true;
+
+            if (salaryScales[row] == NULL_SCALE)
+                return false;
+
+            return (salaryGte == null || compareSalary(row, salaryGte) >= 0)
+                && (salaryLte == null || compareSalary(row, salaryLte) <= 0);
+        }
+
+        private int compareSalary(int row, SalaryBound bound) {
+
+            if (bound.compact() && salaryScales[row] == bound.value().scale())
+                return Long.compare(salaries[row], bound.unscaled());
+
+            return salary(row).compareTo(bound.value());
+        }
+    }
+
+    private record SalaryBound(BigDecimal value, long unscaled, boolean compact) {
+
+        private static SalaryBound of(BigDecimal value) {
+
+            if (value == null)
+                return null;
+
+            boolean compact = value.unscaledValue().bitLength() < Long.SIZE;
+
+            return new SalaryBound(value, compact ? value.unscaledValue().longValue() : 0, compact);
+        }
+    }
+}
@@ -0,0 +1,663 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.enums.BatchStatus;
+import com.sccon.domain.enums.ChangeType;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.model.PersonStats;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import com.sccon.infrastructure.exception.PersistenceException;
+import com.sccon.infrastructure.feed.ChangeFeed;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Closeable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+public class JdbcPersonRepository implements PersonRepositoryPort, Closeable {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int STREAM_PAGE_SIZE = 1_000;
+    private static final PersonQuery EVERYONE = PersonQuery.builder().build();
+
+    private static final List<String> SCHEMA = List.of(
+        "CREATE TABLE IF NOT EXISTS person (id BIGINT PRIMARY KEY, name VARCHAR, birth_date DATE, hire_date DATE, "
+            + "salary DECFLOAT, salary_scale INT, version BIGINT NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS person_name ON person (name, id)",
+        "CREATE INDEX IF NOT EXISTS person_hire_date ON person (hire_date)",
+        "CREATE INDEX IF NOT EXISTS person_salary ON person (salary)",
+        "CREATE TABLE IF NOT EXISTS person_meta (last_id BIGINT NOT NULL)");
+
+    private static final String COLUMNS = "name, birth_date, hire_date, salary, salary_scale, version, id";
+    private static final String BY_NAME = " ORDER BY name NULLS FIRST, id";
+
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM person";
+    private static final String SELECT_BY_ID = SELECT + " WHERE id = ?";
+    private static final String SELECT_ALL = SELECT + BY_NAME;
+    private static final String SELECT_NAME_RANGE = SELECT + " WHERE name >= ? AND name < ?" + BY_NAME;
+    private static final String EXISTS = "SELECT 1 FROM person WHERE id = ?";
+    private static final String EXISTING_IDS = "SELECT id FROM person WHERE id = ANY(?)";
+    private static final String INSERT = "INSERT INTO person (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String MERGE = "MERGE INTO person (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE person SET (name, birth_date, hire_date, salary, salary_scale, version) "
+        + "= (?, ?, ?, ?, ?, ?) WHERE id = ?";
+    private static final String DELETE = "DELETE FROM person WHERE id = ?";
+    private static final String COUNT = "SELECT COUNT(*) FROM person";
+    private static final String PAYROLL = "SELECT COUNT(*), SUM(salary), COUNT(salary) FROM person";
+    private static final String LOWEST_SALARY =
+        "SELECT salary, salary_scale FROM person WHERE salary IS NOT NULL ORDER BY salary, id LIMIT 1";
+    private static final String HIGHEST_SALARY =
+        "SELECT salary, salary_scale FROM person WHERE salary IS NOT NULL ORDER BY salary DESC, id DESC LIMIT 1";
+    private static final String COUNT_HIRED = "SELECT COUNT(*) FROM person WHERE hire_date <= ?";
+    private static final String EARLIEST_HIRE_DATE = "SELECT MIN(hire_date) FROM person";
+    private static final String LAST_ID = "SELECT GREATEST(m.last_id, COALESCE((SELECT MAX(id) FROM person), 0)) "
+        + "FROM person_meta m";
+    private static final String LAST_VERSION = "SELECT COALESCE(MAX(version), 0) FROM person";
+    private static final String CREATE_META = "INSERT INTO person_meta (last_id) VALUES (0)";
+    private static final String RETIRE_ID = "UPDATE person_meta SET last_id = GREATEST(last_id, ?)";
+
+    private final Settings settings;
+    private final HikariDataSource dataSource;
+    private final Lock[] stripes = new Lock[LOCK_STRIPES];
+    private final AtomicLong lastId = new AtomicLong();
+    private final AtomicLong lastVersion = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private final ChangeFeed changes;
+
+    public JdbcPersonRepository(Settings settings) {
+        this(settings, PersonRepository.DEFAULT_CHANGE_CAPACITY);
+    }
+
+    public JdbcPersonRepository(Settings settings, int changeCapacity) {
+        this.settings = settings;
+        this.changes = new ChangeFeed(changeCapacity);
+        this.dataSource = new HikariDataSource(poolConfig(settings));
+
+        for (int i = 0; i < LOCK_STRIPES; i++)
+            stripes[i] = new ReentrantLock();
+
+        try {
+            if (initialize())
+                seed();
+        } catch (RuntimeException e) {
+            dataSource.close();
+            throw e;
+        }
+    }
+
+    private static HikariConfig poolConfig(Settings settings) {
+
+        var config = new HikariConfig();
+        config.setPoolName("people");
+        config.setJdbcUrl(settings.getUrl() + ";QUERY_CACHE_SIZE=" + settings.getStatementCacheSize());
+        config.setUsername(settings.getUsername());
+        config.setPassword(settings.getPassword());
+        config.setMaximumPoolSize(settings.getPoolSize());
+
+        return config;
+    }
+
+    private boolean initialize() {
+        return transaction(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String ddl : SCHEMA)
+                    statement.execute(ddl);
+
+                boolean fresh = !statement.executeQuery("SELECT 1 FROM person_meta").next();
+
+                if (fresh)
+                    statement.executeUpdate(CREATE_META);
+
+                lastId.set(single(connection, LAST_ID, row -> row.getLong(1)).orElseThrow());
+                lastVersion.set(single(connection, LAST_VERSION, row -> row.getLong(1)).orElseThrow());
+                version.set(lastVersion.get());
+
+                return fresh;
+            }
+        });
+    }
+
+    private void seed() {
+
+        save(Person.builder()
+            .id(1L)
+            .name("José da Silva")
+            .birthDate(LocalDate.of(2000, 4, 6))
+            .hireDate(LocalDate.of(2020, 5, 10))
+            .salary(BigDecimal.valueOf(1558))
+            .build());
+
+        save(Person.builder()
+            .id(2L)
+            .name("Maria Oliveira")
+            .birthDate(LocalDate.of(1990, 8, 12))
+            .hireDate(LocalDate.of(2015, 1, 5))
+            .salary(BigDecimal.valueOf(2100))
+            .build());
+
+        save(Person.builder()
+            .id(3L)
+            .name("Carlos Souza")
+            .birthDate(LocalDate.of(1985, 11, 30))
+            .hireDate(LocalDate.of(2010, 3, 20))
+            .salary(BigDecimal.valueOf(1987))
+            .build());
+    }
+
+    public List<Person> findAll() {
+        return query(connection -> list(connection, SELECT_ALL));
+    }
+
+    public List<Person> findByNameBetween(String from, String to) {
+        return query(connection -> list(connection, SELECT_NAME_RANGE, from, to));
+    }
+
+    public List<Person> findByNamePrefix(String prefix) {
+        return query(connection -> list(connection, SELECT_NAME_RANGE, prefix, prefix + Character.MAX_VALUE));
+    }
+
+    public List<Person> findPage(PersonCursor after, int limit) {
+        return findPage(EVERYONE, after, limit);
+    }
+
+    public List<Person> findPage(PersonQuery query, PersonCursor after, int limit) {
+
+        var sql = new StringBuilder(SELECT);
+        List<Object> parameters = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+
+        if (query.getNameStartsWith() != null) {
+            conditions.add("name >= ? AND name < ?");
+            parameters.add(query.getNameStartsWith());
+            parameters.add(query.getNameStartsWith() + Character.MAX_VALUE);
+        }
+
+        if (query.getHiredFrom() != null) {
+            conditions.add("hire_date >= ?");
+            parameters.add(query.getHiredFrom());
+        }
+
+        if (query.getHiredTo() != null) {
+            conditions.add("hire_date <= ?");
+            parameters.add(query.getHiredTo());
+        }
+
+        if (query.getSalaryGte() != null) {
+            conditions.add("salary >= ?");
+            parameters.add(query.getSalaryGte());
+        }
+
+        if (query.getSalaryLte() != null) {
+            conditions.add("salary <= ?");
+            parameters.add(query.getSalaryLte());
+        }
+
+        if (after != null) {
+            conditions.add(after.getName() == null ? "(name IS NOT NULL OR id > ?)" : "(name, id) > (?, ?)");
+            if (after.getName() != null)
+                parameters.add(after.getName());
+            parameters.add(after.getId());
+        }
+
+        if (!conditions.isEmpty())
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+
+        sql.append(BY_NAME).append(" LIMIT ?");
+        parameters.add(limit);
+
+        return query(connection -> list(connection, sql.toString(), parameters.toArray()));
+    }
+
+    public Stream<Person> streamAll() {
+        return Stream.iterate(findPage(null, STREAM_PAGE_SIZE), page -> !page.isEmpty(), page ->
+                page.size() < STREAM_PAGE_SIZE ? List.of() : findPage(PersonCursor.of(page.get(page.size() - 1)), STREAM_PAGE_SIZE))
+            .flatMap(List::stream);
+    }
+
+    public Optional<Person> findById(Long id) {
+        return query(connection -> single(connection, SELECT_BY_ID, JdbcPersonRepository::read, id));
+    }
+
+    public void save(Person person) {
+        lastId.accumulateAndGet(person.getId(), Math::max);
+
+        locked(person.getId(), () -> {
+            Person stored = stamp(person);
+
+            transaction(connection -> update(connection, MERGE, stored));
+            written(ChangeType.SAVED, stored.getId(), stored);
+
+            return null;
+        });
+    }
+
+    public boolean insertIfAbsent(Person person) {
+        lastId.accumulateAndGet(person.getId(), Math::max);
+
+        return locked(person.getId(), () -> {
+            Person stored = stamp(person);
+
+            boolean inserted = transaction(connection ->
+                single(connection, EXISTS, row -> true, stored.getId()).isEmpty() && update(connection, INSERT, stored) == 1);
+
+            if (inserted)
+                written(ChangeType.SAVED, stored.getId(), stored);
+
+            return inserted;
+        });
+    }
+
+    public boolean replaceIfPresent(Person person) {
+        return locked(person.getId(), () -> {
+            Person stored = stamp(person);
+
+            boolean replaced = transaction(connection -> update(connection, UPDATE, stored) == 1);
+
+            if (replaced)
+                written(ChangeType.SAVED, stored.getId(), stored);
+
+            return replaced;
+        });
+    }
+
+    public Optional<Person> computeIfPresent(Long id, UnaryOperator<Person> update) {
+        return locked(id, () -> {
+            Optional<Person> updated = transaction(connection -> {
+                Optional<Person> current = single(connection, SELECT_BY_ID, JdbcPersonRepository::read, id)
+                    .map(update)
+                    .map(this::stamp);
+
+                if (current.isPresent())
+                    update(connection, UPDATE, current.get());
+
+                return current;
+            });
+
+            updated.ifPresent(person -> written(ChangeType.SAVED, id, person));
+
+            return updated;
+        });
+    }
+
+    public void delete(Long id) {
+        removeIfPresent(id);
+    }
+
+    public boolean removeIfPresent(Long id) {
+        return locked(id, () -> {
+            boolean removed = transaction(connection -> {
+                if (update(connection, DELETE, id) == 0)
+                    return false;
+
+                update(connection, RETIRE_ID, id);
+                return true;
+            });
+
+            if (removed)
+                written(ChangeType.DELETED, id, null);
+
+            return removed;
+        });
+    }
+
+    public List<PersonBatchResult> applyAll(List<PersonBatchItem> items) {
+        return allLocked(() -> {
+            List<PersonBatchResult> results = new ArrayList<>(items.size());
+
+            List<Write> writes = transaction(connection -> {
+                Set<Long> stored = existingIds(connection, items);
+                Set<Long> present = new HashSet<>(stored);
+                Map<Long, Person> latest = new HashMap<>();
+                List<Write> applied = new ArrayList<>();
+
+                for (PersonBatchItem item : items) {
+                    Person person = item.getPerson();
+                    Long id = person.getId();
+
+                    BatchStatus status = switch (item.getOperation()) {
+                        case CREATE -> {
+                            lastId.accumulateAndGet(id, Math::max);
+                            yield present.add(id) ? BatchStatus.CREATED : BatchStatus.CONFLICT;
+                        }
+                        case UPDATE -> present.contains(id) ? BatchStatus.UPDATED : BatchStatus.NOT_FOUND;
+                        case DELETE -> present.remove(id) ? BatchStatus.DELETED : BatchStatus.NOT_FOUND;
+                    };
+
+                    if (status != BatchStatus.CONFLICT && status != BatchStatus.NOT_FOUND) {
+                        Person current = status == BatchStatus.DELETED ? null : stamp(person);
+                        latest.put(id, current);
+                        applied.add(new Write(id, current));
+                    }
+
+                    results.add(PersonBatchResult.builder().id(id).status(status).build());
+                }
+
+                flush(connection, stored, latest);
+
+                return applied;
+            });
+
+            writes.forEach(write ->
+                written(write.person() == null ? ChangeType.DELETED : ChangeType.SAVED, write.id(), write.person()));
+
+            return results;
+        });
+    }
+
+    public boolean existsById(Long id) {
+        return query(connection -> single(connection, EXISTS, row -> true, id).isPresent());
+    }
+
+    public PersonStats stats() {
+        return query(connection -> {
+            Payroll payroll = single(connection, PAYROLL, row -> new Payroll(
+                row.getLong(1), row.getBigDecimal(2), row.getLong(3))).orElseThrow();
+            BigDecimal total = payroll.total() == null
+                ? BigDecimal.valueOf(0, 2)
+                : payroll.total().setScale(2, RoundingMode.HALF_EVEN);
+
+            return PersonStats.builder()
+                .headcount(payroll.headcount())
+                .salaried(payroll.salaried())
+                .totalPayroll(total)
+                .averageSalary(payroll.salaried() == 0 ? null
+                    : total.divide(BigDecimal.valueOf(payroll.salaried()), 2, RoundingMode.HALF_EVEN))
+                .minSalary(single(connection, LOWEST_SALARY, JdbcPersonRepository::salary).orElse(null))
+                .maxSalary(single(connection, HIGHEST_SALARY, JdbcPersonRepository::salary).orElse(null))
+                .build();
+        });
+    }
+
+    public long countHiredOnOrBefore(LocalDate date) {
+        return query(connection -> single(connection, COUNT_HIRED, row -> row.getLong(1), date).orElseThrow());
+    }
+
+    public Optional<LocalDate> findEarliestHireDate() {
+        return query(connection -> single(connection, EARLIEST_HIRE_DATE, row -> row.getObject(1, LocalDate.class)));
+    }
+
+    public List<PersonChange> findChangesAfter(long sequence, int limit) {
+        return changes.readAfter(sequence, limit);
+    }
+
+    public long getLastChangeSequence() {
+        return changes.getLastSequence();
+    }
+
+    public Long getNextId() {
+        return lastId.incrementAndGet();
+    }
+
+    public long getLastId() {
+        return lastId.get();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public int size() {
+        return query(connection -> single(connection, COUNT, row -> row.getInt(1)).orElseThrow());
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+
+    private Person stamp(Person person) {
+        return person.toBuilder().version(lastVersion.incrementAndGet()).build();
+    }
+
+    private void written(ChangeType type, Long id, Person person) {
+        version.incrementAndGet();
+        changes.publish(type, id, person);
+    }
+
+    private void flush(Connection connection, Set<Long> stored, Map<Long, Person> latest) throws SQLException {
+
+        List<Person> inserts = new ArrayList<>();
+        List<Person> updates = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+
+        latest.forEach((id, person) -> {
+            if (person != null)
+                (stored.contains(id) ? updates : inserts).add(person);
+            else if (stored.contains(id))
+                deletes.add(id);
+        });
+
+        batched(connection, INSERT, inserts, JdbcPersonRepository::bind);
+        batched(connection, UPDATE, updates, JdbcPersonRepository::bind);
+        batched(connection, DELETE, deletes, (statement, id) -> statement.setLong(1, id));
+
+        if (!deletes.isEmpty())
+            update(connection, RETIRE_ID, deletes.stream().mapToLong(Long::longValue).max().orElseThrow());
+    }
+
+    private <T> void batched(Connection connection, String sql, List<T> rows, Binder<T> binder) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int pending = 0;
+
+            for (T row : rows) {
+                binder.bind(statement, row);
+                statement.addBatch();
+
+                if (++pending == settings.getBatchSize()) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+
+            if (pending > 0)
+                statement.executeBatch();
+        }
+    }
+
+    private Set<Long> existingIds(Connection connection, List<PersonBatchItem> items) throws SQLException {
+
+        Long[] ids = items.stream().map(item -> item.getPerson().getId()).distinct().toArray(Long[]::new);
+        Set<Long> existing = new HashSet<>();
+
+        try (PreparedStatement statement = connection.prepareStatement(EXISTING_IDS)) {
+            for (int from = 0; from < ids.length; from += settings.getBatchSize()) {
+                Long[] chunk = Arrays.copyOfRange(ids, from, Math.min(ids.length, from + settings.getBatchSize()));
+                statement.setArray(1, connection.createArrayOf("BIGINT", chunk));
+
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next())
+                        existing.add(rows.getLong(1));
+                }
+            }
+        }
+
+        return existing;
+    }
+
+    private static int update(Connection connection, String sql, Person person) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, person);
+            return statement.executeUpdate();
+        }
+    }
+
+    private static int update(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = prepare(connection, sql, parameters)) {
+            return statement.executeUpdate();
+        }
+    }
+
+    private static List<Person> list(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = prepare(connection, sql, parameters);
+             ResultSet rows = statement.executeQuery()) {
+
+            List<Person> people = new ArrayList<>();
+            while (rows.next())
+                people.add(read(rows));
+
+            return people;
+        }
+    }
+
+    private static <T> Optional<T> single(Connection connection, String sql, Reader<T> reader,
+                                          Object... parameters) throws SQLException {
+        try (PreparedStatement statement = prepare(connection, sql, parameters);
+             ResultSet rows = statement.executeQuery()) {
+
+            return rows.next() ? Optional.ofNullable(reader.read(rows)) : Optional.empty();
+        }
+    }
+
+    private static PreparedStatement prepare(Connection connection, String sql, Object... parameters) throws SQLException {
+
+        PreparedStatement statement = connection.prepareStatement(sql);
+
+        for (int i = 0; i < parameters.length; i++)
+            statement.setObject(i + 1, parameters[i]);
+
+        return statement;
+    }
+
+    private static void bind(PreparedStatement statement, Person person) throws SQLException {
+        statement.setString(1, person.getName());
+        statement.setObject(2, person.getBirthDate());
+        statement.setObject(3, person.getHireDate());
+        statement.setBigDecimal(4, person.getSalary());
+        statement.setObject(5, person.getSalary() == null ? null : person.getSalary().scale());
+        statement.setLong(6, person.getVersion());
+        statement.setLong(7, person.getId());
+    }
+
+    private static Person read(ResultSet row) throws SQLException {
+        return Person.builder()
+            .name(row.getString(1))
+            .birthDate(row.getObject(2, LocalDate.class))
+            .hireDate(row.getObject(3, LocalDate.class))
+            .salary(salary(row, 4))
+            .version(row.getLong(6))
+            .id(row.getLong(7))
+            .build();
+    }
+
+    private static BigDecimal salary(ResultSet row) throws SQLException {
+        return salary(row, 1);
+    }
+
+    private static BigDecimal salary(ResultSet row, int column) throws SQLException {
+        BigDecimal salary = row.getBigDecimal(column);
+
+        return salary == null ? null : salary.setScale(row.getInt(column + 1));
+    }
+
+    private <T> T query(Work<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            return work.apply(connection);
+        } catch (SQLException e) {
+            throw new PersistenceException("Could not read people", e);
+        }
+    }
+
+    private <T> T transaction(Work<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try {
+                T result = work.apply(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Could not write people", e);
+        }
+    }
+
+    private <T> T locked(Long id, Supplier<T> write) {
+
+        Lock stripe = stripes[Long.hashCode(id) & (LOCK_STRIPES - 1)];
+
+        stripe.lock();
+        try {
+            return write.get();
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    private <T> T allLocked(Supplier<T> write) {
+
+        for (Lock stripe : stripes)
+            stripe.lock();
+
+        try {
+            return write.get();
+        } finally {
+            for (int i = LOCK_STRIPES - 1; i >= 0; i--)
+                stripes[i].unlock();
+        }
+    }
+
+    @Value
+    @Builder
+    public static class Settings {
+        String url;
+        String username;
+        String password;
+        int poolSize;
+        int statementCacheSize;
+        int batchSize;
+    }
+
+    private record Write(Long id, Person person) {
+    }
+
+    private record Payroll(long headcount, BigDecimal total, long salaried) {
+    }
+
+    @FunctionalInterface
+    private interface Work<T> {
+
+        T apply(Connection connection) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+
+        T read(ResultSet row) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface Binder<T> {
+
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+}
@@ -0,0 +1,26 @@
+package com.sccon.infrastructure.repository.person;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.LongAdder;
+
+final class PayrollTotal {
+
+    private static final int LOW_BITS = 32;
+    private static final long LOW_MASK = (1L << LOW_BITS) - 1;
+
+    private final LongAdder low = new LongAdder();
+    private final LongAdder high = new LongAdder();
+
+    void add(BigDecimal salary, int sign) {
+        long cents = salary.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+
+        low.add(sign * (cents & LOW_MASK));
+        high.add(sign * (cents >> LOW_BITS));
+    }
+
+    BigDecimal total() {
+        return new BigDecimal(BigInteger.valueOf(high.sum()).shiftLeft(LOW_BITS).add(BigInteger.valueOf(low.sum())), 2);
+    }
+}
@@ -1,22 +1,106 @@
 package com.sccon.infrastructure.repository.person;
 
+import com.sccon.domain.enums.BatchStatus;
+import com.sccon.domain.enums.ChangeType;
 import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.model.PersonStats;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import com.sccon.infrastructure.feed.ChangeFeed;
+import com.sccon.infrastructure.index.FenwickTree;
+import com.sccon.infrastructure.persistence.WriteAheadLog;
+import com.sccon.infrastructure.persistence.WriteAheadLog.SnapshotSink;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
-public class PersonRepository {
+public class PersonRepository implements PersonRepositoryPort, Closeable {
 
-    private final Map<Long, Person> people = new ConcurrentHashMap<>();
+    public static final int DEFAULT_CHANGE_CAPACITY = 1 << 16;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte LAST_ID = 3;
+    private static final byte[] NO_PAYLOAD = new byte[0];
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    private static final Comparator<Person> BY_NAME = Comparator
+        .comparing(Person::getName, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Person::getId);
+
+    private static final Comparator<Person> BY_HIRE_DATE = Comparator
+        .comparing(Person::getHireDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Person::getId);
+
+    private static final Comparator<Person> BY_SALARY = Comparator
+        .comparing(Person::getSalary, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Person::getId);
+
+    private final ConcurrentMap<Long, Person> people = new ConcurrentHashMap<>();
+    private final NavigableSet<Person> peopleByName = new ConcurrentSkipListSet<>(BY_NAME);
+    private final NavigableSet<Person> peopleByHireDate = new ConcurrentSkipListSet<>(BY_HIRE_DATE);
+    private final NavigableSet<Person> peopleBySalary = new ConcurrentSkipListSet<>(BY_SALARY);
+    private final AtomicLong lastId = new AtomicLong();
+    private final AtomicLong lastVersion = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private final PayrollTotal payroll = new PayrollTotal();
+    private final LongAdder salaried = new LongAdder();
+    private final FenwickTree hiresByDay =
+        new FenwickTree((int) (Person.LAST_HIRE_DATE.toEpochDay() - Person.FIRST_HIRE_DATE.toEpochDay()) + 1);
+    private final ChangeFeed changes;
+    private final WriteAheadLog log;
 
     public PersonRepository() {
+        this(DEFAULT_CHANGE_CAPACITY);
+    }
+
+    public PersonRepository(int changeCapacity) {
+        this.changes = new ChangeFeed(changeCapacity);
+        seed();
+        this.log = null;
+    }
+
+    public PersonRepository(WriteAheadLog.Settings logSettings) throws IOException {
+        this(logSettings, DEFAULT_CHANGE_CAPACITY);
+    }
+
+    public PersonRepository(WriteAheadLog.Settings logSettings, int changeCapacity) throws IOException {
+        this.changes = new ChangeFeed(changeCapacity);
+        this.log = WriteAheadLog.open(logSettings, this::replay, this::writeSnapshot);
 
-        people.put(1L, Person.builder()
+        if (log.isFresh())
+            seed();
+    }
+
+    private void seed() {
+
+        save(Person.builder()
             .id(1L)
             .name("José da Silva")
             .birthDate(LocalDate.of(2000, 4, 6))
@@ -24,7 +108,7 @@ public class PersonRepository {
             .salary(BigDecimal.valueOf(1558))
             .build());
 
-        people.put(2L, Person.builder()
+        save(Person.builder()
             .id(2L)
             .name("Maria Oliveira")
             .birthDate(LocalDate.of(1990, 8, 12))
@@ -32,7 +116,7 @@ public class PersonRepository {
             .salary(BigDecimal.valueOf(2100))
             .build());
 
-        people.put(3L, Person.builder()
+        save(Person.builder()
             .id(3L)
             .name("Carlos Souza")
             .birthDate(LocalDate.of(1985, 11, 30))
@@ -42,7 +126,65 @@ public class PersonRepository {
     }
 
     public List<Person> findAll() {
-        return new ArrayList<>(people.values());
+        return new ArrayList<>(peopleByName);
+    }
+
+    public List<Person> findByNameBetween(String from, String to) {
+        return new ArrayList<>(peopleByName.subSet(nameBound(from), true, nameBound(to), false));
+    }
+
+    public List<Person> findByNamePrefix(String prefix) {
+        return peopleByName.tailSet(nameBound(prefix), true).stream()
+            .takeWhile(person -> person.getName().startsWith(prefix))
+            .toList();
+    }
+
+    public List<Person> findPage(PersonCursor after, int limit) {
+
+        NavigableSet<Person> view = after == null
+            ? peopleByName
+            : peopleByName.tailSet(Person.builder().name(after.getName()).id(after.getId()).build(), false);
+
+        return view.stream().limit(limit).toList();
+    }
+
+    public List<Person> findPage(PersonQuery query, PersonCursor after, int limit) {
+
+        if (query.isEmpty())
+            return findPage(after, limit);
+
+        List<NavigableSet<Person>> ranges = new ArrayList<>(3);
+
+        if (query.getNameStartsWith() != null)
+            ranges.add(peopleByName.subSet(nameBound(query.getNameStartsWith()), true,
+                nameBound(query.getNameStartsWith() + Character.MAX_VALUE), false));
+
+        if (query.hasHireDateRange())
+            ranges.add(range(peopleByHireDate, Person.builder().hireDate(query.getHiredFrom()),
+                Person.builder().hireDate(query.getHiredTo())));
+
+        if (query.hasSalaryRange())
+            ranges.add(range(peopleBySalary, Person.builder().salary(query.getSalaryGte()),
+                Person.builder().salary(query.getSalaryLte())));
+
+        Person cursor = after == null ? null : Person.builder().name(after.getName()).id(after.getId()).build();
+
+        if (ranges.size() == 1 && query.getNameStartsWith() != null) {
+            NavigableSet<Person> byName = cursor == null ? ranges.get(0) : ranges.get(0).tailSet(cursor, false);
+
+            return byName.stream().limit(limit).toList();
+        }
+
+        return smallest(ranges).stream()
+            .filter(query::matches)
+            .filter(person -> cursor == null || BY_NAME.compare(person, cursor) > 0)
+            .sorted(BY_NAME)
+            .limit(limit)
+            .toList();
+    }
+
+    public Stream<Person> streamAll() {
+        return peopleByName.stream();
     }
 
     public Optional<Person> findById(Long id) {
@@ -50,18 +192,372 @@ public class PersonRepository {
     }
 
     public void save(Person person) {
-        people.put(person.getId(), person);
+        requireStorable(person);
+        lastId.accumulateAndGet(person.getId(), Math::max);
+
+        journaled(() -> people.compute(person.getId(), (id, previous) -> write(id, previous, person)));
+        awaitDurable();
+    }
+
+    public boolean insertIfAbsent(Person person) {
+
+        boolean inserted = insert(person);
+
+        if (inserted)
+            awaitDurable();
+
+        return inserted;
+    }
+
+    public boolean replaceIfPresent(Person person) {
+
+        boolean replaced = replace(person);
+
+        if (replaced)
+            awaitDurable();
+
+        return replaced;
+    }
+
+    public Optional<Person> computeIfPresent(Long id, UnaryOperator<Person> update) {
+
+        Optional<Person> updated = Optional.ofNullable(journaled(() ->
+            people.computeIfPresent(id, (key, previous) -> write(key, previous, update.apply(previous)))));
+
+        updated.ifPresent(person -> awaitDurable());
+
+        return updated;
     }
 
     public void delete(Long id) {
-        people.remove(id);
+        removeIfPresent(id);
+    }
+
+    public boolean removeIfPresent(Long id) {
+
+        boolean removed = remove(id);
+
+        if (removed)
+            awaitDurable();
+
+        return removed;
+    }
+
+    public List<PersonBatchResult> applyAll(List<PersonBatchItem> items) {
+
+        List<PersonBatchResult> results = new ArrayList<>(items.size());
+        boolean written = false;
+
+        for (PersonBatchItem item : items) {
+            Person person = item.getPerson();
+
+            BatchStatus status = switch (item.getOperation()) {
+                case CREATE -> insert(person) ? BatchStatus.CREATED : BatchStatus.CONFLICT;
+                case UPDATE -> replace(person) ? BatchStatus.UPDATED : BatchStatus.NOT_FOUND;
+                case DELETE -> remove(person.getId()) ? BatchStatus.DELETED : BatchStatus.NOT_FOUND;
+            };
+
+            written |= status != BatchStatus.CONFLICT && status != BatchStatus.NOT_FOUND;
+            results.add(PersonBatchResult.builder().id(person.getId()).status(status).build());
+        }
+
+        if (written)
+            awaitDurable();
+
+        return results;
     }
 
     public boolean existsById(Long id) {
         return people.containsKey(id);
     }
 
+    public PersonStats stats() {
+
+        BigDecimal total = payroll.total();
+        long withSalary = salaried.sum();
+        Person lowest = peopleBySalary.higher(Person.builder().id(Long.MAX_VALUE).build());
+        Person highest = peopleBySalary.isEmpty() ? null : peopleBySalary.last();
+
+        return PersonStats.builder()
+            .headcount(people.size())
+            .salaried(withSalary)
+            .totalPayroll(total)
+            .averageSalary(withSalary == 0 ? null
+                : total.divide(BigDecimal.valueOf(withSalary), 2, RoundingMode.HALF_EVEN))
+            .minSalary(lowest == null ? null : lowest.getSalary())
+            .maxSalary(highest == null ? null : highest.getSalary())
+            .build();
+    }
+
+    public long countHiredOnOrBefore(LocalDate date) {
+
+        if (date.isBefore(Person.FIRST_HIRE_DATE))
+            return 0;
+
+        return hiresByDay.prefixSum(hireDay(date));
+    }
+
+    public Optional<LocalDate> findEarliestHireDate() {
+        return Optional.ofNullable(peopleByHireDate.higher(Person.builder().id(Long.MAX_VALUE).build()))
+            .map(Person::getHireDate);
+    }
+
+    public List<PersonChange> findChangesAfter(long sequence, int limit) {
+        return changes.readAfter(sequence, limit);
+    }
+
+    public long getLastChangeSequence() {
+        return changes.getLastSequence();
+    }
+
     public Long getNextId() {
-        return people.keySet().stream().max(Long::compare).orElse(0L) + 1;
+        return lastId.incrementAndGet();
+    }
+
+    public long getLastId() {
+        return lastId.get();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public int size() {
+        return people.size();
+    }
+
+    public Optional<WriteAheadLog> getWriteAheadLog() {
+        return Optional.ofNullable(log);
+    }
+
+    public void snapshot() throws IOException {
+        if (log != null)
+            log.snapshot();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (log != null)
+            log.close();
+    }
+
+    private boolean insert(Person person) {
+        requireStorable(person);
+        lastId.accumulateAndGet(person.getId(), Math::max);
+        var inserted = new AtomicBoolean();
+
+        journaled(() -> people.computeIfAbsent(person.getId(), id -> {
+            inserted.set(true);
+            return write(id, null, person);
+        }));
+
+        return inserted.get();
+    }
+
+    private boolean replace(Person person) {
+        return journaled(() ->
+            people.computeIfPresent(person.getId(), (id, previous) -> write(id, previous, person))) != null;
+    }
+
+    private boolean remove(Long id) {
+        var removed = new AtomicBoolean();
+
+        journaled(() -> people.computeIfPresent(id, (key, previous) -> {
+            removed.set(true);
+            return write(key, previous, null);
+        }));
+
+        return removed.get();
+    }
+
+    private Person write(Long id, Person previous, Person current) {
+
+        if (current != null)
+            requireStorable(current);
+
+        if (log != null)
+            log.append(current == null ? DELETE : PUT, id, current == null ? NO_PAYLOAD : encode(current));
+
+        Person stored = reindex(previous, current);
+        changes.publish(stored == null ? ChangeType.DELETED : ChangeType.SAVED, id, stored);
+
+        return stored;
+    }
+
+    private <T> T journaled(Supplier<T> mutation) {
+        return log == null ? mutation.get() : log.guard(mutation);
+    }
+
+    private void awaitDurable() {
+        if (log != null)
+            log.sync();
+    }
+
+    private void replay(byte type, long id, ByteBuffer payload) {
+
+        lastId.accumulateAndGet(id, Math::max);
+
+        if (type == LAST_ID)
+            return;
+
+        Person person = type == PUT ? decode(id, payload) : null;
+
+        people.compute(id, (key, previous) -> reindex(previous, person));
+    }
+
+    private void writeSnapshot(SnapshotSink sink) throws IOException {
+        sink.write(LAST_ID, lastId.get(), NO_PAYLOAD);
+
+        for (Person person : people.values())
+            sink.write(PUT, person.getId(), encode(person));
+    }
+
+    private Person reindex(Person previous, Person current) {
+        if (current != null)
+            current = current.toBuilder().version(lastVersion.incrementAndGet()).build();
+
+        if (previous != null) {
+            peopleByName.remove(previous);
+            peopleByHireDate.remove(previous);
+            peopleBySalary.remove(previous);
+            account(previous, -1);
+        }
+
+        if (current != null) {
+            peopleByName.add(current);
+            peopleByHireDate.add(current);
+            peopleBySalary.add(current);
+            account(current, 1);
+        }
+
+        version.incrementAndGet();
+
+        return current;
+    }
+
+    private void account(Person person, int sign) {
+
+        if (person.getSalary() != null) {
+            payroll.add(person.getSalary(), sign);
+            salaried.add(sign);
+        }
+
+        if (person.getHireDate() != null)
+            hiresByDay.add(hireDay(person.getHireDate()), sign);
+    }
+
+    private int hireDay(LocalDate date) {
+        long day = date.toEpochDay() - Person.FIRST_HIRE_DATE.toEpochDay();
+
+        return (int) Math.min(day, hiresByDay.size() - 1);
+    }
+
+    private static void requireStorable(Person person) {
+
+        BigDecimal salary = person.getSalary();
+
+        if (salary != null && salary.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().bitLength() >= Long.SIZE)
+            throw new IllegalArgumentException("Salary " + salary + " does not fit the payroll totals");
+
+        if (person.getHireDate() != null && !Person.isSupportedHireDate(person.getHireDate()))
+            throw new IllegalArgumentException("Hire date " + person.getHireDate() + " is outside "
+                + Person.FIRST_HIRE_DATE + ".." + Person.LAST_HIRE_DATE);
+    }
+
+    private static NavigableSet<Person> range(NavigableSet<Person> index, Person.PersonBuilder from,
+                                              Person.PersonBuilder to) {
+
+        Person lower = from.id(Long.MIN_VALUE).build();
+        Person upper = to.id(Long.MAX_VALUE).build();
+
+        if (isUnbounded(upper))
+            return index.tailSet(lower, true);
+
+        if (isUnbounded(lower))
+            return index.headSet(upper, true);
+
+        if (index.comparator().compare(lower, upper) > 0)
+            return index.subSet(lower, true, lower, false);
+
+        return index.subSet(lower, true, upper, true);
+    }
+
+    private static boolean isUnbounded(Person bound) {
+        return bound.getHireDate() == null && bound.getSalary() == null;
+    }
+
+    private static List<Person> smallest(List<NavigableSet<Person>> ranges) {
+
+        List<Iterator<Person>> iterators = ranges.stream().map(NavigableSet::iterator).toList();
+        List<List<Person>> visited = Stream.<List<Person>>generate(ArrayList::new).limit(ranges.size()).toList();
+
+        while (true) {
+            for (int i = 0; i < iterators.size(); i++) {
+                if (!iterators.get(i).hasNext())
+                    return visited.get(i);
+
+                visited.get(i).add(iterators.get(i).next());
+            }
+        }
+    }
+
+    private static Person nameBound(String name) {
+        return Person.builder().name(name).id(Long.MIN_VALUE).build();
+    }
+
+    private static byte[] encode(Person person) {
+
+        byte[] name = person.getName() == null ? null : person.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] salary = person.getSalary() == null ? null : person.getSalary().unscaledValue().toByteArray();
+
+        ByteBuffer buffer = ByteBuffer.allocate(
+            lengthOf(name) + Long.BYTES + Long.BYTES + Integer.BYTES + lengthOf(salary));
+
+        putBytes(buffer, name);
+        buffer.putLong(person.getBirthDate() == null ? NULL_DATE : person.getBirthDate().toEpochDay());
+        buffer.putLong(person.getHireDate() == null ? NULL_DATE : person.getHireDate().toEpochDay());
+        buffer.putInt(person.getSalary() == null ? 0 : person.getSalary().scale());
+        putBytes(buffer, salary);
+
+        return buffer.array();
+    }
+
+    private static Person decode(long id, ByteBuffer payload) {
+
+        byte[] name = getBytes(payload);
+        long birthDate = payload.getLong();
+        long hireDate = payload.getLong();
+        int scale = payload.getInt();
+        byte[] salary = getBytes(payload);
+
+        return Person.builder()
+            .id(id)
+            .name(name == null ? null : new String(name, StandardCharsets.UTF_8))
+            .birthDate(birthDate == NULL_DATE ? null : LocalDate.ofEpochDay(birthDate))
+            .hireDate(hireDate == NULL_DATE ? null : LocalDate.ofEpochDay(hireDate))
+            .salary(salary == null ? null : new BigDecimal(new BigInteger(salary), scale))
+            .build();
+    }
+
+    private static int lengthOf(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes == null ? NULL_LENGTH : bytes.length);
+
+        if (bytes != null)
+            buffer.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+
+        if (length == NULL_LENGTH)
+            return null;
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
     }
 }
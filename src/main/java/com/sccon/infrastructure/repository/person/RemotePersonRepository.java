@@ -0,0 +1,345 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.enums.BatchStatus;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.model.PersonStats;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import com.sccon.infrastructure.exception.ChangesExpiredException;
+import com.sccon.infrastructure.exception.ShardUnavailableException;
+import com.sccon.infrastructure.sharding.ShardBatchItem;
+import com.sccon.infrastructure.sharding.ShardBatchResult;
+import com.sccon.infrastructure.sharding.ShardChange;
+import com.sccon.infrastructure.sharding.ShardPerson;
+import com.sccon.infrastructure.sharding.ShardSecretFilter;
+import com.sccon.infrastructure.sharding.ShardStats;
+import com.sccon.infrastructure.sharding.ShardVersion;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class RemotePersonRepository implements PersonRepositoryPort {
+
+    private static final String SHARD_API = "/internal/shard";
+    private static final int STREAM_PAGE_SIZE = 1000;
+    private static final PersonQuery EVERYONE = PersonQuery.builder().build();
+    private static final Comparator<String> NAME_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final String node;
+    private final RestClient client;
+    private final long versionTtl;
+    private final AtomicLong writes = new AtomicLong();
+    private volatile CachedVersion version;
+
+    private record CachedVersion(long value, long writes, long expiresAt) {
+    }
+
+    public RemotePersonRepository(String node, URI baseUrl, Duration timeout, String secret, Duration versionTtl) {
+
+        var factory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .build());
+        factory.setReadTimeout(timeout);
+
+        this.node = node;
+        this.versionTtl = versionTtl.toNanos();
+        this.client = RestClient.builder()
+            .baseUrl(UriComponentsBuilder.fromUri(baseUrl).path(SHARD_API).toUriString())
+            .defaultHeader(ShardSecretFilter.SECRET_HEADER, secret)
+            .requestFactory(factory)
+            .build();
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public List<Person> findAll() {
+        try (Stream<Person> people = streamAll()) {
+            return people.toList();
+        }
+    }
+
+    public List<Person> findByNameBetween(String from, String to) {
+        return pages(EVERYONE, PersonCursor.builder().name(from).id(Long.MIN_VALUE).build())
+            .takeWhile(person -> NAME_ORDER.compare(person.getName(), to) < 0)
+            .toList();
+    }
+
+    public List<Person> findByNamePrefix(String prefix) {
+        return pages(PersonQuery.builder().nameStartsWith(prefix).build(), null).toList();
+    }
+
+    public List<Person> findPage(PersonCursor after, int limit) {
+        return findPage(EVERYONE, after, limit);
+    }
+
+    public List<Person> findPage(PersonQuery query, PersonCursor after, int limit) {
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("nameStartsWith", query.getNameStartsWith());
+        parameters.put("hiredFrom", query.getHiredFrom());
+        parameters.put("hiredTo", query.getHiredTo());
+        parameters.put("salaryGte", query.getSalaryGte());
+        parameters.put("salaryLte", query.getSalaryLte());
+        parameters.put("afterName", after == null ? null : after.getName());
+        parameters.put("afterId", after == null ? null : after.getId());
+        parameters.put("limit", limit);
+        parameters.values().removeIf(Objects::isNull);
+
+        String uri = parameters.keySet().stream()
+            .map(name -> name + "={" + name + "}")
+            .collect(Collectors.joining("&", "/people?", ""));
+
+        ShardPerson[] page = call(() -> client.get()
+            .uri(uri, parameters)
+            .retrieve()
+            .body(ShardPerson[].class));
+
+        return Arrays.stream(page).map(ShardPerson::toDomain).toList();
+    }
+
+    public Stream<Person> streamAll() {
+        return pages(EVERYONE, null);
+    }
+
+    public Optional<Person> findById(Long id) {
+        return call(() -> {
+            try {
+                return Optional.ofNullable(client.get()
+                        .uri("/people/{id}", id)
+                        .retrieve()
+                        .body(ShardPerson.class))
+                    .map(ShardPerson::toDomain);
+            } catch (HttpClientErrorException.NotFound ex) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    public void save(Person person) {
+        write(() -> client.put()
+            .uri("/people/{id}", person.getId())
+            .body(ShardPerson.of(person))
+            .retrieve()
+            .toBodilessEntity());
+    }
+
+    public boolean insertIfAbsent(Person person) {
+        return apply(BatchOperation.CREATE, person) == BatchStatus.CREATED;
+    }
+
+    public boolean replaceIfPresent(Person person) {
+        return apply(BatchOperation.UPDATE, person) == BatchStatus.UPDATED;
+    }
+
+    public Optional<Person> computeIfPresent(Long id, UnaryOperator<Person> update) {
+
+        while (true) {
+            Optional<Person> current = findById(id);
+            if (current.isEmpty())
+                return current;
+
+            Person updated = update.apply(current.get());
+            if (updated == null)
+                return Optional.empty();
+
+            Optional<Person> replaced = replaceIfUnchanged(current.get(), updated);
+            if (replaced != null)
+                return replaced;
+        }
+    }
+
+    public void delete(Long id) {
+        removeIfPresent(id);
+    }
+
+    public boolean removeIfPresent(Long id) {
+        return apply(BatchOperation.DELETE, Person.builder().id(id).build()) == BatchStatus.DELETED;
+    }
+
+    public List<PersonBatchResult> applyAll(List<PersonBatchItem> items) {
+
+        ShardBatchResult[] results = write(() -> client.post()
+            .uri("/batch")
+            .body(items.stream().map(ShardBatchItem::of).toList())
+            .retrieve()
+            .body(ShardBatchResult[].class));
+
+        return Arrays.stream(results).map(ShardBatchResult::toDomain).toList();
+    }
+
+    public PersonStats stats() {
+        return call(() -> client.get()
+            .uri("/stats")
+            .retrieve()
+            .body(ShardStats.class))
+            .toDomain();
+    }
+
+    public long countHiredOnOrBefore(LocalDate date) {
+        return call(() -> client.get()
+            .uri("/hired?onOrBefore={date}", date)
+            .retrieve()
+            .body(Long.class));
+    }
+
+    public Optional<LocalDate> findEarliestHireDate() {
+        return call(() -> {
+            try {
+                return Optional.ofNullable(client.get()
+                    .uri("/hired/earliest")
+                    .retrieve()
+                    .body(LocalDate.class));
+            } catch (HttpClientErrorException.NotFound ex) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    public List<PersonChange> findChangesAfter(long sequence, int limit) {
+
+        ShardChange[] changes = call(() -> {
+            try {
+                return client.get()
+                    .uri("/changes?after={sequence}&limit={limit}", sequence, limit)
+                    .retrieve()
+                    .body(ShardChange[].class);
+            } catch (HttpClientErrorException ex) {
+                if (ex.getStatusCode() == HttpStatus.GONE)
+                    throw new ChangesExpiredException("Changes of node " + node + " after " + sequence + " expired");
+
+                throw ex;
+            }
+        });
+
+        return Arrays.stream(changes).map(ShardChange::toDomain).toList();
+    }
+
+    public long getLastChangeSequence() {
+        return call(() -> client.get()
+            .uri("/changes/last")
+            .retrieve()
+            .body(Long.class));
+    }
+
+    public Long getNextId() {
+        return call(() -> client.post()
+            .uri("/ids")
+            .retrieve()
+            .body(Long.class));
+    }
+
+    public long getLastId() {
+        return call(() -> client.get()
+            .uri("/ids/last")
+            .retrieve()
+            .body(Long.class));
+    }
+
+    public long getVersion() {
+
+        long now = System.nanoTime();
+        long seen = writes.get();
+        CachedVersion cached = version;
+        if (cached != null && cached.writes() == seen && now - cached.expiresAt() < 0)
+            return cached.value();
+
+        long value = call(() -> client.get()
+            .uri("/version")
+            .retrieve()
+            .body(ShardVersion.class))
+            .mixed();
+        version = new CachedVersion(value, seen, now + versionTtl);
+
+        return value;
+    }
+
+    public int size() {
+        return Math.toIntExact(stats().getHeadcount());
+    }
+
+    private BatchStatus apply(BatchOperation operation, Person person) {
+        return applyAll(List.of(PersonBatchItem.builder()
+            .operation(operation)
+            .person(person)
+            .build()))
+            .get(0)
+            .getStatus();
+    }
+
+    private Stream<Person> pages(PersonQuery query, PersonCursor start) {
+        return Stream.iterate(findPage(query, start, STREAM_PAGE_SIZE), page -> !page.isEmpty(), page ->
+                page.size() < STREAM_PAGE_SIZE
+                    ? List.of()
+                    : findPage(query, PersonCursor.of(page.get(page.size() - 1)), STREAM_PAGE_SIZE))
+            .flatMap(List::stream);
+    }
+
+    private Optional<Person> replaceIfUnchanged(Person current, Person updated) {
+        return write(() -> {
+            try {
+                return Optional.ofNullable(client.put()
+                        .uri("/people/{id}?expectedVersion={version}", current.getId(), current.getVersion())
+                        .body(ShardPerson.of(updated))
+                        .retrieve()
+                        .body(ShardPerson.class))
+                    .map(ShardPerson::toDomain);
+            } catch (HttpClientErrorException.NotFound ex) {
+                return Optional.empty();
+            } catch (HttpClientErrorException ex) {
+                if (ex.getStatusCode() == HttpStatus.PRECONDITION_FAILED)
+                    return null;
+
+                throw ex;
+            }
+        });
+    }
+
+    private <T> T write(Supplier<T> request) {
+        writes.incrementAndGet();
+        try {
+            return call(request);
+        } finally {
+            writes.incrementAndGet();
+        }
+    }
+
+    private <T> T call(Supplier<T> request) {
+        try {
+            return request.get();
+        } catch (RestClientException ex) {
+            throw new ShardUnavailableException("Shard " + node + " could not serve the request", ex);
+        }
+    }
+}
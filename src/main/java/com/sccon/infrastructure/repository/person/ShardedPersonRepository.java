@@ -0,0 +1,364 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.model.PersonStats;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import com.sccon.infrastructure.exception.ChangeFeedUnavailableException;
+import com.sccon.infrastructure.sharding.ConsistentHashRing;
+import com.sccon.infrastructure.sharding.ShardHandOff;
+import com.sccon.infrastructure.sharding.ShardVersion;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ShardedPersonRepository implements PersonRepositoryPort, Closeable {
+
+    private static final Comparator<Person> BY_NAME = Comparator
+        .comparing(Person::getName, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Person::getId);
+
+    private final String node;
+    private final ConsistentHashRing ring;
+    private final PersonRepositoryPort local;
+    private final Map<String, PersonRepositoryPort> shards;
+    private final ExecutorService gatherers;
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+
+    public ShardedPersonRepository(String node, ConsistentHashRing ring, Map<String, PersonRepositoryPort> shards) {
+
+        if (!shards.keySet().equals(Set.copyOf(ring.getNodes())))
+            throw new IllegalArgumentException("Shards " + shards.keySet() + " do not match the ring " + ring.getNodes());
+
+        if (!shards.containsKey(node))
+            throw new IllegalArgumentException("Node " + node + " is not part of the ring " + ring.getNodes());
+
+        this.node = node;
+        this.ring = ring;
+        this.local = shards.get(node);
+        this.shards = Map.copyOf(shards);
+        this.gatherers = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "shard-gather-" + node);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public ConsistentHashRing getRing() {
+        return ring;
+    }
+
+    public PersonRepositoryPort getLocal() {
+        return local;
+    }
+
+    public ShardVersion getLocalVersion() {
+        return ShardVersion.of(epoch, local.getVersion());
+    }
+
+    public boolean owns(Long id) {
+        return node.equals(ring.ownerOf(id));
+    }
+
+    public ShardHandOff handOffForeignPeople() {
+
+        List<Person> foreign;
+        try (Stream<Person> people = local.streamAll()) {
+            foreign = people.filter(person -> !owns(person.getId())).toList();
+        }
+
+        int moved = 0;
+        List<Long> conflicts = new ArrayList<>();
+        for (Person person : foreign) {
+            PersonRepositoryPort owner = ownerOf(person.getId());
+            if (owner.insertIfAbsent(person) || owner.findById(person.getId()).filter(person::equals).isPresent()) {
+                local.removeIfPresent(person.getId());
+                moved++;
+            } else {
+                conflicts.add(person.getId());
+            }
+        }
+
+        return ShardHandOff.builder()
+            .moved(moved)
+            .conflicts(List.copyOf(conflicts))
+            .build();
+    }
+
+    public List<Person> findAll() {
+        return merged(gather(shard -> shard.findAll().iterator())).toList();
+    }
+
+    public List<Person> findByNameBetween(String from, String to) {
+        return merged(gather(shard -> shard.findByNameBetween(from, to).iterator())).toList();
+    }
+
+    public List<Person> findByNamePrefix(String prefix) {
+        return merged(gather(shard -> shard.findByNamePrefix(prefix).iterator())).toList();
+    }
+
+    public List<Person> findPage(PersonCursor after, int limit) {
+        return merged(gather(shard -> shard.findPage(after, limit).iterator()))
+            .limit(limit)
+            .toList();
+    }
+
+    public List<Person> findPage(PersonQuery query, PersonCursor after, int limit) {
+        return merged(gather(shard -> shard.findPage(query, after, limit).iterator()))
+            .limit(limit)
+            .toList();
+    }
+
+    public Stream<Person> streamAll() {
+
+        List<Stream<Person>> streams = gather(PersonRepositoryPort::streamAll);
+
+        return merged(streams.stream().map(Stream::iterator).toList())
+            .onClose(() -> streams.forEach(Stream::close));
+    }
+
+    public Optional<Person> findById(Long id) {
+        return ownerOf(id).findById(id);
+    }
+
+    public boolean existsById(Long id) {
+        return ownerOf(id).existsById(id);
+    }
+
+    public void save(Person person) {
+        ownerOf(person.getId()).save(person);
+    }
+
+    public boolean insertIfAbsent(Person person) {
+        return ownerOf(person.getId()).insertIfAbsent(person);
+    }
+
+    public boolean replaceIfPresent(Person person) {
+        return ownerOf(person.getId()).replaceIfPresent(person);
+    }
+
+    public Optional<Person> computeIfPresent(Long id, UnaryOperator<Person> update) {
+        return ownerOf(id).computeIfPresent(id, update);
+    }
+
+    public void delete(Long id) {
+        ownerOf(id).delete(id);
+    }
+
+    public boolean removeIfPresent(Long id) {
+        return ownerOf(id).removeIfPresent(id);
+    }
+
+    public List<PersonBatchResult> applyAll(List<PersonBatchItem> items) {
+
+        Map<String, List<Integer>> positions = new LinkedHashMap<>();
+        for (int index = 0; index < items.size(); index++)
+            positions.computeIfAbsent(ring.ownerOf(items.get(index).getPerson().getId()), owner -> new ArrayList<>())
+                .add(index);
+
+        Map<String, List<PersonBatchResult>> applied = scatter(positions.keySet(), owner ->
+            shards.get(owner).applyAll(positions.get(owner).stream().map(items::get).toList()));
+
+        PersonBatchResult[] results = new PersonBatchResult[items.size()];
+        positions.forEach((owner, indexes) -> {
+            for (int i = 0; i < indexes.size(); i++)
+                results[indexes.get(i)] = applied.get(owner).get(i);
+        });
+
+        return Arrays.asList(results);
+    }
+
+    public PersonStats stats() {
+
+        List<PersonStats> stats = gather(PersonRepositoryPort::stats);
+        long salaried = stats.stream().mapToLong(PersonStats::getSalaried).sum();
+        BigDecimal payroll = stats.stream()
+            .map(PersonStats::getTotalPayroll)
+            .reduce(BigDecimal.valueOf(0, 2), BigDecimal::add);
+
+        return PersonStats.builder()
+            .headcount(stats.stream().mapToLong(PersonStats::getHeadcount).sum())
+            .salaried(salaried)
+            .totalPayroll(payroll)
+            .averageSalary(salaried == 0 ? null
+                : payroll.divide(BigDecimal.valueOf(salaried), 2, RoundingMode.HALF_EVEN))
+            .minSalary(stats.stream().map(PersonStats::getMinSalary).filter(Objects::nonNull)
+                .min(Comparator.naturalOrder()).orElse(null))
+            .maxSalary(stats.stream().map(PersonStats::getMaxSalary).filter(Objects::nonNull)
+                .max(Comparator.naturalOrder()).orElse(null))
+            .build();
+    }
+
+    public long countHiredOnOrBefore(LocalDate date) {
+        return gather(shard -> shard.countHiredOnOrBefore(date)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    public Optional<LocalDate> findEarliestHireDate() {
+        return gather(PersonRepositoryPort::findEarliestHireDate).stream()
+            .flatMap(Optional::stream)
+            .min(Comparator.naturalOrder());
+    }
+
+    public List<PersonChange> findChangesAfter(long sequence, int limit) {
+        throw changeFeedUnavailable();
+    }
+
+    public long getLastChangeSequence() {
+        throw changeFeedUnavailable();
+    }
+
+    public Long getNextId() {
+
+        Long id;
+        do {
+            id = local.getNextId();
+        } while (!owns(id));
+
+        return id;
+    }
+
+    public long getLastId() {
+        return local.getLastId();
+    }
+
+    public long getVersion() {
+        return gather(shard -> shard == local ? getLocalVersion().mixed() : shard.getVersion()).stream()
+            .mapToLong(Long::longValue)
+            .sum();
+    }
+
+    public int size() {
+        return gather(PersonRepositoryPort::size).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        gatherers.shutdownNow();
+
+        for (PersonRepositoryPort shard : shards.values())
+            if (shard instanceof Closeable closeable)
+                closeable.close();
+    }
+
+    private static ChangeFeedUnavailableException changeFeedUnavailable() {
+        return new ChangeFeedUnavailableException("The change feed is not available while sharding is enabled: "
+            + "every node numbers its own changes, so there is no single sequence to follow");
+    }
+
+    private PersonRepositoryPort ownerOf(Long id) {
+        return shards.get(ring.ownerOf(id));
+    }
+
+    private <T> List<T> gather(Function<PersonRepositoryPort, T> query) {
+        return List.copyOf(scatter(ring.getNodes(), shard -> query.apply(shards.get(shard))).values());
+    }
+
+    private <T> Map<String, T> scatter(Collection<String> nodes, Function<String, T> request) {
+
+        Map<String, CompletableFuture<T>> remote = new LinkedHashMap<>();
+        for (String shard : nodes)
+            if (!shard.equals(node))
+                remote.put(shard, CompletableFuture.supplyAsync(() -> request.apply(shard), gatherers));
+
+        Map<String, T> results = new LinkedHashMap<>();
+        if (nodes.contains(node))
+            results.put(node, request.apply(node));
+
+        remote.forEach((shard, response) -> results.put(shard, join(response)));
+
+        return results;
+    }
+
+    private static <T> T join(CompletableFuture<T> response) {
+        try {
+            return response.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause)
+                throw cause;
+
+            throw ex;
+        }
+    }
+
+    private static Stream<Person> merged(List<Iterator<Person>> sources) {
+
+        record Head(Person person, Iterator<Person> rest) {
+        }
+
+        PriorityQueue<Head> heads = new PriorityQueue<>(sources.size() + 1, Comparator.comparing(Head::person, BY_NAME));
+        for (Iterator<Person> source : sources)
+            if (source.hasNext())
+                heads.add(new Head(source.next(), source));
+
+        Iterator<Person> merge = new Iterator<>() {
+
+            private Person last;
+
+            @Override
+            public boolean hasNext() {
+
+                while (!heads.isEmpty() && last != null && BY_NAME.compare(heads.peek().person(), last) == 0)
+                    advance();
+
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Person next() {
+
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                last = advance();
+
+                return last;
+            }
+
+            private Person advance() {
+
+                Head head = heads.poll();
+                if (head.rest().hasNext())
+                    heads.add(new Head(head.rest().next(), head.rest()));
+
+                return head.person();
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merge, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+}
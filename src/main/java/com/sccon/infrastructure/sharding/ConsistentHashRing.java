@@ -0,0 +1,74 @@
+package com.sccon.infrastructure.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+public class ConsistentHashRing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<String> nodes;
+    private final long[] tokens;
+    private final String[] owners;
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+
+        if (nodes.isEmpty())
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+
+        if (virtualNodes < 1)
+            throw new IllegalArgumentException("Every node needs at least one virtual node, not " + virtualNodes);
+
+        this.nodes = List.copyOf(new TreeSet<>(nodes));
+
+        record Token(long hash, String node) {
+        }
+
+        List<Token> ring = this.nodes.stream()
+            .flatMap(node -> IntStream.range(0, virtualNodes).mapToObj(replica -> new Token(hash(node + "#" + replica), node)))
+            .sorted(Comparator.comparingLong(Token::hash).thenComparing(Token::node))
+            .toList();
+
+        this.tokens = ring.stream().mapToLong(Token::hash).toArray();
+        this.owners = ring.stream().map(Token::node).toArray(String[]::new);
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    public String ownerOf(long id) {
+
+        int index = Arrays.binarySearch(tokens, mix(id));
+
+        if (index < 0)
+            index = -index - 1;
+
+        return owners[index == tokens.length ? 0 : index];
+    }
+
+    private static long hash(String key) {
+
+        long hash = FNV_OFFSET;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8))
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,39 @@
+package com.sccon.infrastructure.sharding;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.model.PersonBatchItem;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+public class ShardBatchItem {
+
+    @NotNull
+    @JsonProperty("op")
+    private BatchOperation operation;
+
+    @Valid
+    @NotNull
+    @JsonProperty("person")
+    private ShardPerson person;
+
+    public static ShardBatchItem of(PersonBatchItem item) {
+        return ShardBatchItem.builder()
+            .operation(item.getOperation())
+            .person(ShardPerson.of(item.getPerson()))
+            .build();
+    }
+
+    public PersonBatchItem toDomain() {
+        return PersonBatchItem.builder()
+            .operation(operation)
+            .person(person.toDomain())
+            .build();
+    }
+}
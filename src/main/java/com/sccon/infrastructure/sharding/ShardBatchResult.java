@@ -0,0 +1,41 @@
+package com.sccon.infrastructure.sharding;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sccon.domain.enums.BatchStatus;
+import com.sccon.domain.model.PersonBatchResult;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+public class ShardBatchResult {
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("status")
+    private BatchStatus status;
+
+    public static ShardBatchResult of(PersonBatchResult result) {
+        return ShardBatchResult.builder()
+            .id(result.getId())
+            .status(result.getStatus())
+            .build();
+    }
+
+    public static ShardBatchResult invalid(Long id) {
+        return ShardBatchResult.builder()
+            .id(id)
+            .status(BatchStatus.INVALID)
+            .build();
+    }
+
+    public PersonBatchResult toDomain() {
+        return PersonBatchResult.builder()
+            .id(id)
+            .status(status)
+            .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.sccon.infrastructure.sharding;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sccon.domain.enums.ChangeType;
+import com.sccon.domain.model.PersonChange;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ShardChange {
+
+    @JsonProperty("sequence")
+    private long sequence;
+
+    @JsonProperty("type")
+    private ChangeType type;
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("person")
+    private ShardPerson person;
+
+    public static ShardChange of(PersonChange change) {
+        return ShardChange.builder()
+            .sequence(change.getSequence())
+            .type(change.getType())
+            .id(change.getId())
+            .person(change.getPerson() == null ? null : ShardPerson.of(change.getPerson()))
+            .build();
+    }
+
+    public PersonChange toDomain() {
+        return PersonChange.builder()
+            .sequence(sequence)
+            .type(type)
+            .id(id)
+            .person(person == null ? null : person.toDomain())
+            .build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.sccon.infrastructure.sharding;
+
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import com.sccon.infrastructure.exception.ChangesExpiredException;
+import com.sccon.infrastructure.repository.person.ShardedPersonRepository;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@RestController
+@RequestMapping("/internal/shard")
+@ConditionalOnProperty(prefix = "people.sharding", name = "enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+class ShardController {
+
+    private final ShardedPersonRepository cluster;
+    private final PersonRepositoryPort shard;
+    private final Validator validator;
+
+    ShardController(PersonRepositoryPort repository, Validator validator) {
+
+        if (!(repository instanceof ShardedPersonRepository sharded))
+            throw new IllegalStateException("Sharding is enabled but the person store is not sharded");
+
+        this.cluster = sharded;
+        this.shard = sharded.getLocal();
+        this.validator = validator;
+    }
+
+    @GetMapping("/people")
+    public List<ShardPerson> page(
+        @RequestParam(required = false) String nameStartsWith,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredFrom,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredTo,
+        @RequestParam(required = false) BigDecimal salaryGte,
+        @RequestParam(required = false) BigDecimal salaryLte,
+        @RequestParam(required = false) String afterName,
+        @RequestParam(required = false) Long afterId,
+        @RequestParam int limit) {
+
+        var query = PersonQuery.builder()
+            .nameStartsWith(nameStartsWith)
+            .hiredFrom(hiredFrom)
+            .hiredTo(hiredTo)
+            .salaryGte(salaryGte)
+            .salaryLte(salaryLte)
+            .build();
+        var after = afterId == null ? null : PersonCursor.builder().name(afterName).id(afterId).build();
+
+        List<Person> people = query.isEmpty()
+            ? shard.findPage(after, limit)
+            : shard.findPage(query, after, limit);
+
+        return people.stream().map(ShardPerson::of).toList();
+    }
+
+    @GetMapping("/people/{id}")
+    public ResponseEntity<ShardPerson> findById(@PathVariable Long id) {
+        return ResponseEntity.of(shard.findById(id).map(ShardPerson::of));
+    }
+
+    @PutMapping("/people/{id}")
+    public ResponseEntity<Void> save(@PathVariable Long id,
+                                     @Validated({Default.class, ShardPerson.Write.class}) @RequestBody ShardPerson person) {
+
+        shard.save(person.toDomain().toBuilder().id(id).build());
+
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping(value = "/people/{id}", params = "expectedVersion")
+    public ResponseEntity<ShardPerson> replace(@PathVariable Long id,
+                                               @RequestParam long expectedVersion,
+                                               @Validated({Default.class, ShardPerson.Write.class}) @RequestBody ShardPerson person) {
+
+        return ResponseEntity.of(shard.computeIfPresent(id, current -> {
+            if (current.getVersion() != expectedVersion)
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "Person " + id + " is at version " + current.getVersion() + ", not " + expectedVersion);
+
+            return person.toDomain().toBuilder().id(id).build();
+        }).map(ShardPerson::of));
+    }
+
+    @PostMapping("/batch")
+    public List<ShardBatchResult> batch(@RequestBody List<ShardBatchItem> items) {
+
+        ShardBatchResult[] results = new ShardBatchResult[items.size()];
+        List<Integer> accepted = new ArrayList<>(items.size());
+        List<PersonBatchItem> commands = new ArrayList<>(items.size());
+
+        for (int index = 0; index < items.size(); index++) {
+            ShardBatchItem item = items.get(index);
+
+            if (isValid(item)) {
+                accepted.add(index);
+                commands.add(item.toDomain());
+            } else {
+                results[index] = ShardBatchResult.invalid(item == null || item.getPerson() == null
+                    ? null
+                    : item.getPerson().getId());
+            }
+        }
+
+        List<PersonBatchResult> applied = commands.isEmpty() ? List.of() : shard.applyAll(commands);
+        for (int i = 0; i < applied.size(); i++)
+            results[accepted.get(i)] = ShardBatchResult.of(applied.get(i));
+
+        return Arrays.asList(results);
+    }
+
+    @GetMapping("/stats")
+    public ShardStats stats() {
+        return ShardStats.of(shard.stats());
+    }
+
+    @GetMapping("/hired")
+    public long countHired(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate onOrBefore) {
+        return shard.countHiredOnOrBefore(onOrBefore);
+    }
+
+    @GetMapping("/hired/earliest")
+    public ResponseEntity<LocalDate> earliestHire() {
+        return ResponseEntity.of(shard.findEarliestHireDate());
+    }
+
+    @GetMapping("/changes")
+    public List<ShardChange> changes(@RequestParam long after, @RequestParam int limit) {
+        try {
+            return shard.findChangesAfter(after, limit).stream().map(ShardChange::of).toList();
+        } catch (ChangesExpiredException ex) {
+            throw new ResponseStatusException(HttpStatus.GONE, ex.getMessage());
+        }
+    }
+
+    @GetMapping("/changes/last")
+    public long lastChange() {
+        return shard.getLastChangeSequence();
+    }
+
+    @PostMapping("/ids")
+    public Long nextId() {
+        return shard.getNextId();
+    }
+
+    @GetMapping("/ids/last")
+    public long lastId() {
+        return shard.getLastId();
+    }
+
+    @GetMapping("/version")
+    public ShardVersion version() {
+        return cluster.getLocalVersion();
+    }
+
+    private boolean isValid(ShardBatchItem item) {
+        return item != null
+            && validator.validate(item).isEmpty()
+            && (item.getOperation() == BatchOperation.DELETE
+                || validator.validate(item.getPerson(), ShardPerson.Write.class).isEmpty());
+    }
+}
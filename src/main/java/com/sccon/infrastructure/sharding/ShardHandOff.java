@@ -0,0 +1,15 @@
+package com.sccon.infrastructure.sharding;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class ShardHandOff {
+
+    private int moved;
+
+    private List<Long> conflicts;
+}
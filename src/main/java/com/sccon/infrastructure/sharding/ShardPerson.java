@@ -0,0 +1,77 @@
+package com.sccon.infrastructure.sharding;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sccon.domain.model.Person;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Value
+@Builder
+@Jacksonized
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ShardPerson {
+
+    public interface Write {
+    }
+
+    @NotNull
+    @JsonProperty("id")
+    private Long id;
+
+    @NotBlank(groups = Write.class)
+    @JsonProperty("name")
+    private String name;
+
+    @NotNull(groups = Write.class)
+    @JsonProperty("birthDate")
+    private LocalDate birthDate;
+
+    @NotNull(groups = Write.class)
+    @JsonProperty("hireDate")
+    private LocalDate hireDate;
+
+    @Digits(integer = Person.SALARY_INTEGER_DIGITS, fraction = Person.SALARY_FRACTION_DIGITS, groups = Write.class)
+    @JsonProperty("salary")
+    private BigDecimal salary;
+
+    @JsonProperty("version")
+    private long version;
+
+    public static ShardPerson of(Person person) {
+        return ShardPerson.builder()
+            .id(person.getId())
+            .name(person.getName())
+            .birthDate(person.getBirthDate())
+            .hireDate(person.getHireDate())
+            .salary(person.getSalary())
+            .version(person.getVersion())
+            .build();
+    }
+
+    @JsonIgnore
+    @AssertTrue(groups = Write.class, message = "hireDate must be between 1900-01-01 and 2199-12-31")
+    public boolean isHireDateSupported() {
+        return hireDate == null || Person.isSupportedHireDate(hireDate);
+    }
+
+    public Person toDomain() {
+        return Person.builder()
+            .id(id)
+            .name(name)
+            .birthDate(birthDate)
+            .hireDate(hireDate)
+            .salary(salary)
+            .version(version)
+            .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.sccon.infrastructure.sharding;
+
+import com.sccon.infrastructure.repository.person.ShardedPersonRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class ShardRebalancer implements Closeable {
+
+    private final ShardedPersonRepository repository;
+    private final Duration retryInterval;
+    private final ScheduledExecutorService scheduler;
+
+    public ShardRebalancer(ShardedPersonRepository repository, Duration retryInterval) {
+        this.repository = repository;
+        this.retryInterval = retryInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "shard-rebalance-" + repository.getNode());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.execute(this::handOff);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void handOff() {
+        try {
+            ShardHandOff handOff = repository.handOffForeignPeople();
+
+            if (handOff.getMoved() > 0)
+                log.info("Handed {} people of node {} over to the nodes that own them", handOff.getMoved(),
+                    repository.getNode());
+
+            if (!handOff.getConflicts().isEmpty())
+                log.warn("Kept people {} on node {} because the nodes that own them already hold different copies of them",
+                    handOff.getConflicts(), repository.getNode());
+        } catch (RuntimeException ex) {
+            log.warn("Could not hand people of node {} over yet, retrying in {} ms: {}",
+                repository.getNode(), retryInterval.toMillis(), ex.getMessage());
+            scheduler.schedule(this::handOff, retryInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
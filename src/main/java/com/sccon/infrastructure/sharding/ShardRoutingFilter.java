@@ -0,0 +1,147 @@
+package com.sccon.infrastructure.sharding;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    public static final String FORWARDED_BY = "X-Shard-Forwarded-By";
+
+    private static final int MISDIRECTED_REQUEST = 421;
+    private static final String CHANGES_PATH = "/person/changes";
+    private static final Pattern PERSON_PATH = Pattern.compile("^/person/(\\d{1,18})(?:/.*)?$");
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "keep-alive", "transfer-encoding", "upgrade",
+        "host", "content-length", "expect", "te", "trailer", "proxy-authenticate", "proxy-authorization");
+
+    public enum Routing {
+        FORWARD,
+        REDIRECT
+    }
+
+    private final String node;
+    private final ConsistentHashRing ring;
+    private final Map<String, URI> nodes;
+    private final Routing routing;
+    private final Duration timeout;
+    private final HttpClient client;
+
+    public ShardRoutingFilter(String node, ConsistentHashRing ring, Map<String, URI> nodes, Routing routing,
+                              Duration timeout) {
+        this.node = node;
+        this.ring = ring;
+        this.nodes = Map.copyOf(nodes);
+        this.routing = routing;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Matcher matcher = PERSON_PATH.matcher(path);
+
+        if (path.equals(CHANGES_PATH)) {
+            response.sendError(HttpStatus.NOT_IMPLEMENTED.value(),
+                "The change feed is not available while sharding is enabled");
+            return;
+        }
+
+        if (!matcher.matches()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long id = Long.parseLong(matcher.group(1));
+        String owner = ring.ownerOf(id);
+
+        if (owner.equals(node)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (request.getHeader(FORWARDED_BY) != null) {
+            response.sendError(MISDIRECTED_REQUEST,
+                "Person " + id + " belongs to node " + owner + ", not " + node);
+            return;
+        }
+
+        URI target = UriComponentsBuilder.fromUri(nodes.get(owner))
+            .path(path)
+            .query(request.getQueryString())
+            .build(true)
+            .toUri();
+
+        if (routing == Routing.REDIRECT) {
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader(HttpHeaders.LOCATION, target.toString());
+            return;
+        }
+
+        forward(request, response, target, owner);
+    }
+
+    private void forward(HttpServletRequest request, HttpServletResponse response, URI target, String owner)
+        throws IOException {
+
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(target)
+            .timeout(timeout)
+            .method(request.getMethod(), body.length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(body))
+            .header(FORWARDED_BY, node);
+
+        for (String name : Collections.list(request.getHeaderNames()))
+            if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT)))
+                for (String value : Collections.list(request.getHeaders(name)))
+                    forwarded.header(name, value);
+
+        HttpResponse<InputStream> answer;
+        try {
+            answer = client.send(forwarded.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException ex) {
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Node " + owner + " is unavailable");
+            return;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Interrupted while forwarding to node " + owner);
+            return;
+        }
+
+        response.setStatus(answer.statusCode());
+        answer.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":") && !HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT)))
+                values.forEach(value -> response.addHeader(name, value));
+        });
+
+        try (InputStream content = answer.body()) {
+            content.transferTo(response.getOutputStream());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.sccon.infrastructure.sharding;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+public class ShardSecretFilter extends OncePerRequestFilter {
+
+    public static final String SECRET_HEADER = "X-Shard-Secret";
+
+    private final byte[] secret;
+
+    public ShardSecretFilter(String secret) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+
+        String presented = request.getHeader(SECRET_HEADER);
+
+        if (presented == null || !MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8))) {
+            response.sendError(HttpStatus.FORBIDDEN.value(), "Missing or wrong " + SECRET_HEADER);
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+}
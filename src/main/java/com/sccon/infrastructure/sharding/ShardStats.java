@@ -0,0 +1,57 @@
+package com.sccon.infrastructure.sharding;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sccon.domain.model.PersonStats;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.math.BigDecimal;
+
+@Value
+@Builder
+@Jacksonized
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ShardStats {
+
+    @JsonProperty("headcount")
+    private long headcount;
+
+    @JsonProperty("salaried")
+    private long salaried;
+
+    @JsonProperty("totalPayroll")
+    private BigDecimal totalPayroll;
+
+    @JsonProperty("averageSalary")
+    private BigDecimal averageSalary;
+
+    @JsonProperty("minSalary")
+    private BigDecimal minSalary;
+
+    @JsonProperty("maxSalary")
+    private BigDecimal maxSalary;
+
+    public static ShardStats of(PersonStats stats) {
+        return ShardStats.builder()
+            .headcount(stats.getHeadcount())
+            .salaried(stats.getSalaried())
+            .totalPayroll(stats.getTotalPayroll())
+            .averageSalary(stats.getAverageSalary())
+            .minSalary(stats.getMinSalary())
+            .maxSalary(stats.getMaxSalary())
+            .build();
+    }
+
+    public PersonStats toDomain() {
+        return PersonStats.builder()
+            .headcount(headcount)
+            .salaried(salaried)
+            .totalPayroll(totalPayroll)
+            .averageSalary(averageSalary)
+            .minSalary(minSalary)
+            .maxSalary(maxSalary)
+            .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.sccon.infrastructure.sharding;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+public class ShardVersion {
+
+    @JsonProperty("epoch")
+    private long epoch;
+
+    @JsonProperty("version")
+    private long version;
+
+    public static ShardVersion of(long epoch, long version) {
+        return ShardVersion.builder()
+            .epoch(epoch)
+            .version(version)
+            .build();
+    }
+
+    public long mixed() {
+
+        long mixed = epoch * 0x9E3779B97F4A7C15L + version;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+
+        return mixed ^ (mixed >>> 31);
+    }
+}
@@ -1,8 +1,11 @@
 package com.sccon.presentation.person;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.sccon.domain.model.Person;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
@@ -34,9 +37,16 @@ class CreatePersonRequest {
     private LocalDate hireDate;
 
     @NotNull
+    @Digits(integer = Person.SALARY_INTEGER_DIGITS, fraction = Person.SALARY_FRACTION_DIGITS)
     @JsonProperty("salary")
     private BigDecimal salary;
 
+    @JsonIgnore
+    @AssertTrue(message = "hireDate must be between 1900-01-01 and 2199-12-31")
+    boolean isHireDateSupported() {
+        return hireDate == null || Person.isSupportedHireDate(hireDate);
+    }
+
     Person toDomain() {
         return Person.builder()
             .id(this.id)
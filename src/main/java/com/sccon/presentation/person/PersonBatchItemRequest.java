@@ -0,0 +1,101 @@
+package com.sccon.presentation.person;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import jakarta.validation.constraints.Pattern;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+@Value
+@Builder
+@Jacksonized
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+class PersonBatchItemRequest {
+
+    interface Write {
+    }
+
+    interface Existing {
+    }
+
+    interface Delete extends Existing {
+    }
+
+    interface Update extends Write, Existing {
+    }
+
+    @NotNull
+    @Pattern(regexp = "(?i)create|update|delete", message = "must be one of create | update | delete")
+    @JsonProperty("op")
+    private String operation;
+
+    @NotNull(groups = Existing.class)
+    @JsonProperty("id")
+    private Long id;
+
+    @NotBlank(groups = Write.class)
+    @Null(groups = Delete.class)
+    @JsonProperty("name")
+    private String name;
+
+    @NotNull(groups = Write.class)
+    @JsonProperty("birthDay")
+    private LocalDate birthDate;
+
+    @NotNull(groups = Write.class)
+    @JsonProperty("hireDate")
+    private LocalDate hireDate;
+
+    @NotNull(groups = Write.class)
+    @Digits(integer = Person.SALARY_INTEGER_DIGITS, fraction = Person.SALARY_FRACTION_DIGITS, groups = Write.class)
+    @JsonProperty("salary")
+    private BigDecimal salary;
+
+    @JsonIgnore
+    @AssertTrue(groups = Write.class, message = "hireDate must be between 1900-01-01 and 2199-12-31")
+    boolean isHireDateSupported() {
+        return hireDate == null || Person.isSupportedHireDate(hireDate);
+    }
+
+    BatchOperation operation() {
+        return Stream.of(BatchOperation.values())
+            .filter(value -> value.getValue().equalsIgnoreCase(operation))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    Class<?> validationGroup() {
+        return switch (operation()) {
+            case CREATE -> Write.class;
+            case UPDATE -> Update.class;
+            case DELETE -> Delete.class;
+        };
+    }
+
+    PersonBatchItem toDomain() {
+        return PersonBatchItem.builder()
+            .operation(operation())
+            .person(Person.builder()
+                .id(id)
+                .name(name)
+                .birthDate(birthDate)
+                .hireDate(hireDate)
+                .salary(salary)
+                .build())
+            .build();
+    }
+}
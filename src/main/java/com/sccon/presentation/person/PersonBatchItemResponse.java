@@ -0,0 +1,45 @@
+package com.sccon.presentation.person;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sccon.domain.enums.BatchStatus;
+import com.sccon.domain.model.PersonBatchResult;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+class PersonBatchItemResponse {
+
+    @JsonProperty("index")
+    private int index;
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("message")
+    private String message;
+
+    static PersonBatchItemResponse toResponse(int index, PersonBatchResult result) {
+        return PersonBatchItemResponse.builder()
+            .index(index)
+            .id(result.getId())
+            .status(result.getStatus().getValue())
+            .build();
+    }
+
+    static PersonBatchItemResponse invalid(int index, Long id, String message) {
+        return PersonBatchItemResponse.builder()
+            .index(index)
+            .id(id)
+            .status(BatchStatus.INVALID.getValue())
+            .message(message)
+            .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.sccon.presentation.person;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sccon.domain.model.PersonChange;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+class PersonChangeResponse {
+
+    @JsonProperty("sequence")
+    private long sequence;
+
+    @JsonProperty("type")
+    private String type;
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("person")
+    private PersonResponse person;
+
+    static PersonChangeResponse toResponse(PersonChange change) {
+        return PersonChangeResponse.builder()
+            .sequence(change.getSequence())
+            .type(change.getType().getValue())
+            .id(change.getId())
+            .person(change.getPerson() == null ? null : PersonResponse.toResponse(change.getPerson()))
+            .build();
+    }
+}
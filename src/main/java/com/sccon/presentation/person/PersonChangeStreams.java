@@ -0,0 +1,185 @@
+package com.sccon.presentation.person;
+
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.service.person.PersonServicePort;
+import com.sccon.infrastructure.exception.ChangesExpiredException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+class PersonChangeStreams implements DisposableBean {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String RESET_EVENT = "reset";
+
+    private final PersonServicePort personService;
+    private final Duration pollInterval;
+    private final Duration timeout;
+    private final int bufferSize;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService senders;
+
+    PersonChangeStreams(PersonServicePort personService,
+                        @Value("${people.changes.poll-interval:200ms}") Duration pollInterval,
+                        @Value("${people.changes.stream-timeout:30m}") Duration timeout,
+                        @Value("${people.changes.buffer-size:1024}") int bufferSize) {
+
+        if (bufferSize < 1)
+            throw new IllegalArgumentException("people.changes.buffer-size must be positive");
+
+        this.personService = personService;
+        this.pollInterval = pollInterval;
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.scheduler = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+            Thread thread = new Thread(task, "person-changes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.senders = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "person-changes-send");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    SseEmitter subscribe(Long since) {
+        return subscribe(new SseEmitter(timeout.toMillis()), since);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Long since) {
+
+        var subscription = new Subscription(emitter, since == null ? personService.lastChangeSequence() : since);
+
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+
+        subscription.start();
+
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private final class Subscription implements Runnable {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEventBuilder> pending = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private long cursor;
+        private volatile Future<?> task;
+        private volatile boolean closed;
+        private volatile ChangesExpiredException expired;
+
+        private Subscription(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        private void start() {
+            task = scheduler.scheduleWithFixedDelay(this, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+            if (closed)
+                task.cancel(false);
+        }
+
+        private void close() {
+            stopPolling();
+            expired = null;
+            pending.clear();
+        }
+
+        private void stopPolling() {
+            closed = true;
+
+            Future<?> current = task;
+            if (current != null)
+                current.cancel(false);
+        }
+
+        @Override
+        public void run() {
+            if (closed)
+                return;
+
+            try {
+                int room;
+                List<PersonChange> changes;
+                do {
+                    room = Math.min(pending.remainingCapacity(), BATCH_SIZE);
+                    if (room == 0)
+                        break;
+
+                    changes = personService.changesAfter(cursor, room);
+
+                    for (PersonChange change : changes) {
+                        pending.add(SseEmitter.event()
+                            .id(Long.toString(change.getSequence()))
+                            .name(change.getType().getValue())
+                            .data(PersonChangeResponse.toResponse(change), MediaType.APPLICATION_JSON));
+                        cursor = change.getSequence();
+                    }
+                } while (changes.size() == room);
+            } catch (ChangesExpiredException ex) {
+                expired = ex;
+                stopPolling();
+            } catch (RuntimeException ex) {
+                close();
+                emitter.completeWithError(ex);
+                return;
+            }
+
+            drain();
+        }
+
+        private void drain() {
+            if (sending.compareAndSet(false, true))
+                senders.execute(this::send);
+        }
+
+        private void send() {
+            try {
+                for (SseEventBuilder event = pending.poll(); event != null; event = pending.poll())
+                    emitter.send(event);
+
+                ChangesExpiredException reset = expired;
+                if (reset != null) {
+                    expired = null;
+                    emitter.send(SseEmitter.event().name(RESET_EVENT).data(reset.getMessage()));
+                    emitter.complete();
+                }
+            } catch (IOException | RuntimeException ex) {
+                close();
+                emitter.completeWithError(ex);
+            } finally {
+                sending.set(false);
+            }
+
+            if (!pending.isEmpty() || expired != null)
+                drain();
+        }
+    }
+}
@@ -1,13 +1,42 @@
 package com.sccon.presentation.person;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.sccon.domain.enums.BatchStatus;
 import com.sccon.domain.enums.PeriodOutput;
 import com.sccon.domain.enums.SalaryOutput;
 import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.model.SalaryProjection;
 import com.sccon.domain.service.person.PersonServicePort;
+import com.sccon.infrastructure.exception.ChangesExpiredException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -15,51 +44,248 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
-import java.util.Comparator;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.apache.commons.lang3.BooleanUtils.isFalse;
 
 @RestController
 @RequestMapping("/person")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 class PersonController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 100_000;
+    private static final int MAX_AGE_BUCKET_SIZE = 150;
+    private static final int MAX_TENURE_BUCKET_SIZE = 100;
+    static final String BOOT_EPOCH = Long.toString(System.currentTimeMillis(), 36);
+    private static final List<MediaType> SUPPORTED_TYPES = List.of(
+        MediaType.APPLICATION_JSON,
+        MediaType.parseMediaType("application/x-jackson-smile"),
+        MediaType.parseMediaType("application/cbor"));
+
     private final PersonServicePort personService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PersonChangeStreams changeStreams;
+    private final PersonResponseCache responseCache;
 
     @GetMapping
-    public List<PersonResponse> listAll() {
+    public ResponseEntity<List<PersonResponse>> list(
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+        @RequestParam(required = false) @Positive @Max(MAX_PAGE_SIZE) Integer limit,
+        @RequestParam(required = false) PersonCursor after,
+        @RequestParam(required = false) String nameStartsWith,
+        @RequestParam(required = false) @Size(min = 2, max = 2) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        List<LocalDate> hiredBetween,
+        @RequestParam(required = false) BigDecimal salaryGte,
+        @RequestParam(required = false) BigDecimal salaryLte) throws HttpMediaTypeNotAcceptableException {
+
+        MediaType representation = negotiate(accept);
+        ETag etag = etag(personService.currentVersion(), representation);
+
+        if (matches(ifNoneMatch, etag))
+            return notModified(etag);
+
+        var query = PersonQuery.builder()
+            .nameStartsWith(nameStartsWith)
+            .hiredFrom(hiredBetween == null ? null : hiredBetween.get(0))
+            .hiredTo(hiredBetween == null ? null : hiredBetween.get(1))
+            .salaryGte(salaryGte)
+            .salaryLte(salaryLte)
+            .build();
+
+        if (limit == null && after == null && query.isEmpty())
+            return ok(etag, representation).body(listAll());
+
+        return listPage(query, after, limit == null ? MAX_PAGE_SIZE : limit, ok(etag, representation));
+    }
+
+    private List<PersonResponse> listAll() {
 
         return personService.listAll().stream()
             .map(PersonResponse::toResponse)
-            .sorted(Comparator.comparing(PersonResponse::getName))
             .toList();
 
     }
 
+    private ResponseEntity<List<PersonResponse>> listPage(PersonQuery query, PersonCursor after, int limit,
+                                                          ResponseEntity.BodyBuilder response) {
+
+        List<Person> people = query.isEmpty()
+            ? personService.listPage(after, limit + 1)
+            : personService.query(query, after, limit + 1);
+
+        List<PersonResponse> page = people.stream()
+            .limit(limit)
+            .map(PersonResponse::toResponse)
+            .toList();
+
+        if (people.size() <= limit)
+            return response.body(page);
+
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+            .replaceQueryParam("after", StringToPersonCursorConverter.encode(people.get(limit - 1)))
+            .toUriString();
+
+        return response
+            .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+            .body(page);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+
+        StreamingResponseBody body = out -> {
+            try (Stream<Person> people = personService.streamAll();
+                 SequenceWriter writer = objectMapper.writerFor(PersonResponse.class)
+                     .withRootValueSeparator("\n")
+                     .writeValues(out)) {
+
+                Iterator<Person> iterator = people.iterator();
+                while (iterator.hasNext())
+                    writer.write(PersonResponse.toResponse(iterator.next()));
+            }
+        };
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> changes(
+        @RequestParam(defaultValue = "0") @PositiveOrZero long since,
+        @RequestParam(defaultValue = "1000") @Positive @Max(MAX_PAGE_SIZE) int limit) {
+
+        List<PersonChange> changes;
+        try {
+            changes = personService.changesAfter(since, limit);
+        } catch (ChangesExpiredException ex) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writerFor(PersonChangeResponse.class)
+                     .withRootValueSeparator("\n")
+                     .writeValues(out)) {
+
+                for (PersonChange change : changes)
+                    writer.write(PersonChangeResponse.toResponse(change));
+            }
+        };
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changeStream(
+        @RequestHeader(value = "Last-Event-ID", required = false) @PositiveOrZero Long lastEventId,
+        @RequestParam(required = false) @PositiveOrZero Long since) {
+
+        return changeStreams.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
+    @PostMapping(value = "/salaries", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> salaries(@Valid @RequestBody SalaryProjectionRequest request) {
+
+        StreamingResponseBody body = out -> {
+            try (Stream<SalaryProjection> projections = request.isAll()
+                     ? personService.projectAllSalaries()
+                     : personService.projectSalaries(request.getIds());
+                 SequenceWriter writer = objectMapper.writerFor(SalaryProjectionResponse.class)
+                     .withRootValueSeparator("\n")
+                     .writeValues(out)) {
+
+                Iterator<SalaryProjection> iterator = projections.iterator();
+                while (iterator.hasNext())
+                    writer.write(SalaryProjectionResponse.toResponse(iterator.next()));
+            }
+        };
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
     @PostMapping
     public ResponseEntity<Void> create(@Valid @RequestBody CreatePersonRequest request) {
 
-        if (request.getId() != null && personService.existsById(request.getId()))
+        if (isFalse(personService.insertIfAbsent(request.toDomain())))
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
 
-        personService.save(request.toDomain());
-
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<PersonBatchItemResponse>> batch(InputStream body) throws IOException {
+
+        List<PersonBatchItemRequest> items = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY)
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected a JSON array of batch items");
+
+            ObjectReader reader = objectMapper.readerFor(PersonBatchItemRequest.class);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (items.size() == MAX_BATCH_SIZE)
+                    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+
+                items.add(reader.readValue(parser));
+            }
+        } catch (JsonProcessingException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getOriginalMessage(), ex);
+        }
+
+        return applyBatch(items);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<PersonBatchItemResponse>> batchStream(InputStream body) throws IOException {
+
+        List<PersonBatchItemRequest> items = new ArrayList<>();
+        try (MappingIterator<PersonBatchItemRequest> iterator = objectMapper.readerFor(PersonBatchItemRequest.class)
+            .readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (items.size() == MAX_BATCH_SIZE)
+                    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+
+                items.add(iterator.nextValue());
+            }
+        } catch (JsonProcessingException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getOriginalMessage(), ex);
+        }
+
+        return applyBatch(items);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        if (isFalse(personService.existsById(id)))
+        if (isFalse(personService.removeIfPresent(id)))
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
 
-        personService.deletePerson(id);
+        responseCache.evict(id);
 
         return ResponseEntity.noContent().build();
     }
@@ -67,39 +293,138 @@ class PersonController {
     @PutMapping("/{id}")
     public ResponseEntity<Void> update(@PathVariable Long id, @Valid @RequestBody UpdatePersonRequest request) {
 
-        if (isFalse(personService.existsById(id)))
+        if (isFalse(personService.replaceIfPresent(request.toDomain(id))))
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
 
-        personService.update(request.toDomain(id));
-
         return ResponseEntity.ok().build();
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Void> updateSalary(@PathVariable Long id, @RequestParam BigDecimal salary) {
+    public ResponseEntity<Void> updateSalary(
+        @PathVariable Long id,
+        @RequestParam @Digits(integer = Person.SALARY_INTEGER_DIGITS, fraction = Person.SALARY_FRACTION_DIGITS) BigDecimal salary) {
 
-        Optional<Person> person = personService.findById(id);
+        Optional<Person> person = personService.computeSalary(id, current -> salary);
 
         if (person.isEmpty())
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
 
-        personService.partialUpdate(person.get(), salary);
-
         return ResponseEntity.ok().build();
     }
 
+    private ResponseEntity<List<PersonBatchItemResponse>> applyBatch(List<PersonBatchItemRequest> items) {
+
+        PersonBatchItemResponse[] responses = new PersonBatchItemResponse[items.size()];
+        List<Integer> accepted = new ArrayList<>(items.size());
+        List<PersonBatchItem> commands = new ArrayList<>(items.size());
+
+        for (int index = 0; index < items.size(); index++) {
+            PersonBatchItemRequest item = items.get(index);
+            String violations = violationsOf(item);
+
+            if (violations.isEmpty()) {
+                accepted.add(index);
+                commands.add(item.toDomain());
+            } else {
+                responses[index] = PersonBatchItemResponse.invalid(index, item == null ? null : item.getId(), violations);
+            }
+        }
+
+        List<PersonBatchResult> results = commands.isEmpty() ? List.of() : personService.applyBatch(commands);
+
+        for (int i = 0; i < results.size(); i++) {
+            responses[accepted.get(i)] = PersonBatchItemResponse.toResponse(accepted.get(i), results.get(i));
+
+            if (results.get(i).getStatus() == BatchStatus.DELETED)
+                responseCache.evict(results.get(i).getId());
+        }
+
+        return ResponseEntity.ok(Arrays.asList(responses));
+    }
+
+    private String violationsOf(PersonBatchItemRequest item) {
+
+        if (item == null)
+            return "item: must not be null";
+
+        var violations = validator.validate(item);
+
+        if (violations.isEmpty())
+            violations = validator.validate(item, item.validationGroup());
+
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<PersonResponse> getById(@PathVariable Long id) {
+    public ResponseEntity<?> getById(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+        throws JsonProcessingException, HttpMediaTypeNotAcceptableException {
+
+        Optional<Person> found = personService.findById(id);
+
+        if (found.isEmpty())
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+
+        Person person = found.get();
+        MediaType representation = negotiate(accept);
+        ETag etag = etag(person.getVersion(), representation);
+
+        if (matches(ifNoneMatch, etag))
+            return notModified(etag);
+
+        if (representation.equals(MediaType.APPLICATION_JSON))
+            return ok(etag, representation).body(responseCache.json(person));
+
+        return ok(etag, representation).body(PersonResponse.toResponse(person));
+    }
+
+    private static MediaType negotiate(String accept) throws HttpMediaTypeNotAcceptableException {
 
-        return personService.findById(id)
-            .map(it -> ResponseEntity.ok(PersonResponse.builder()
-                                                .id(it.getId())
-                                                .name(it.getName())
-                                                .birthDate(it.getBirthDate())
-                                                .hireDate(it.getHireDate())
-                                                .salary(it.getSalary())
-                                                .build()))
-            .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        if (accept == null || accept.isBlank())
+            return MediaType.APPLICATION_JSON;
+
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            throw new HttpMediaTypeNotAcceptableException("Could not parse 'Accept' header [" + accept + "]: "
+                + ex.getMessage());
+        }
+
+        MimeTypeUtils.sortBySpecificity(accepted);
+
+        return accepted.stream()
+            .flatMap(type -> SUPPORTED_TYPES.stream().filter(type::isCompatibleWith))
+            .findFirst()
+            .orElseThrow(() -> new HttpMediaTypeNotAcceptableException(SUPPORTED_TYPES));
+    }
+
+    private static ETag etag(long version, MediaType representation) {
+        return new ETag(BOOT_EPOCH + "." + version + "-" + representation.getSubtype(), false);
+    }
+
+    private static ResponseEntity.BodyBuilder ok(ETag etag, MediaType representation) {
+        return ResponseEntity.ok()
+            .eTag(etag.formattedTag())
+            .varyBy(HttpHeaders.ACCEPT)
+            .contentType(representation);
+    }
+
+    private static boolean matches(String ifNoneMatch, ETag etag) {
+        return ifNoneMatch != null && ETag.parse(ifNoneMatch).stream()
+            .anyMatch(candidate -> candidate.isWildcard() || candidate.compare(etag, false));
+    }
+
+    private static <T> ResponseEntity<T> notModified(ETag etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag.formattedTag())
+            .varyBy(HttpHeaders.ACCEPT)
+            .build();
     }
 
     @GetMapping("/{id}/age")
@@ -113,6 +438,29 @@ class PersonController {
 
     }
 
+    @GetMapping("/ages")
+    public List<AgeBucketResponse> ageDistribution(
+        @RequestParam(defaultValue = "10") @Positive @Max(MAX_AGE_BUCKET_SIZE) int bucketSize) {
+
+        return personService.ageDistribution(bucketSize).stream()
+            .map(AgeBucketResponse::toResponse)
+            .toList();
+    }
+
+    @GetMapping("/stats")
+    public PersonStatsResponse stats() {
+        return PersonStatsResponse.toResponse(personService.stats());
+    }
+
+    @GetMapping("/stats/tenure")
+    public List<TenureBucketResponse> tenureDistribution(
+        @RequestParam(defaultValue = "5") @Positive @Max(MAX_TENURE_BUCKET_SIZE) int bucketSize) {
+
+        return personService.tenureDistribution(bucketSize).stream()
+            .map(TenureBucketResponse::toResponse)
+            .toList();
+    }
+
     @GetMapping("/{id}/salary")
     public ResponseEntity<BigDecimal> salary(@PathVariable Long id,
                                              @Valid @RequestParam SalaryOutput output) {
@@ -0,0 +1,56 @@
+package com.sccon.presentation.person;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sccon.domain.model.Person;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+class PersonResponseCache {
+
+    private final Cache<Long, Serialized> responses;
+    private final ObjectMapper objectMapper;
+
+    PersonResponseCache(ObjectMapper objectMapper,
+                        @Value("${people.response-cache.max-entries:100000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .executor(Runnable::run)
+            .build();
+    }
+
+    byte[] json(Person person) throws JsonProcessingException {
+
+        if (person.getVersion() == 0)
+            return objectMapper.writeValueAsBytes(PersonResponse.toResponse(person));
+
+        Serialized cached = responses.getIfPresent(person.getId());
+
+        if (cached != null && cached.version() == person.getVersion())
+            return cached.json();
+
+        byte[] json = objectMapper.writeValueAsBytes(PersonResponse.toResponse(person));
+
+        responses.put(person.getId(), new Serialized(person.getVersion(), json));
+
+        return json;
+    }
+
+    void evict(Long id) {
+        responses.invalidate(id);
+    }
+
+    long size() {
+        responses.cleanUp();
+        return responses.estimatedSize();
+    }
+
+    private record Serialized(long version, byte[] json) {
+    }
+}
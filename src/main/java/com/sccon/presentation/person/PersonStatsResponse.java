@@ -0,0 +1,42 @@
+package com.sccon.presentation.person;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sccon.domain.model.PersonStats;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.math.BigDecimal;
+
+@Value
+@Builder
+@Jacksonized
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class PersonStatsResponse {
+
+    @JsonProperty("headcount")
+    private long headcount;
+
+    @JsonProperty("totalPayroll")
+    private BigDecimal totalPayroll;
+
+    @JsonProperty("averageSalary")
+    private BigDecimal averageSalary;
+
+    @JsonProperty("minSalary")
+    private BigDecimal minSalary;
+
+    @JsonProperty("maxSalary")
+    private BigDecimal maxSalary;
+
+    static PersonStatsResponse toResponse(PersonStats stats) {
+        return PersonStatsResponse.builder()
+            .headcount(stats.getHeadcount())
+            .totalPayroll(stats.getTotalPayroll())
+            .averageSalary(stats.getAverageSalary())
+            .minSalary(stats.getMinSalary())
+            .maxSalary(stats.getMaxSalary())
+            .build();
+    }
+}
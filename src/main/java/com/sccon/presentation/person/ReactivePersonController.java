@@ -0,0 +1,143 @@
+package com.sccon.presentation.person;
+
+import com.sccon.domain.enums.PeriodOutput;
+import com.sccon.domain.enums.SalaryOutput;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.service.person.ReactivePersonServicePort;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/person")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+class ReactivePersonController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactivePersonServicePort personService;
+
+    @GetMapping
+    public Flux<PersonResponse> listAll() {
+        return personService.listAll().map(PersonResponse::toResponse);
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<ResponseEntity<List<PersonResponse>>> listPage(@RequestParam @Positive @Max(MAX_PAGE_SIZE) int limit,
+                                                               @RequestParam(required = false) PersonCursor after,
+                                                               ServerHttpRequest request) {
+
+        return personService.listPage(after, limit + 1)
+            .collectList()
+            .map(people -> {
+                List<PersonResponse> page = people.stream()
+                    .limit(limit)
+                    .map(PersonResponse::toResponse)
+                    .toList();
+
+                if (people.size() <= limit)
+                    return ResponseEntity.ok(page);
+
+                String next = UriComponentsBuilder.fromUri(request.getURI())
+                    .replaceQueryParam("after", StringToPersonCursorConverter.encode(people.get(limit - 1)))
+                    .toUriString();
+
+                return ResponseEntity.ok()
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                    .body(page);
+            });
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PersonResponse> stream() {
+        return personService.streamAll().map(PersonResponse::toResponse);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Void>> create(@Valid @RequestBody CreatePersonRequest request) {
+
+        return personService.insertIfAbsent(request.toDomain())
+            .map(created -> ResponseEntity.status(created ? HttpStatus.CREATED : HttpStatus.CONFLICT).build());
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable Long id) {
+
+        return personService.removeIfPresent(id)
+            .map(removed -> removed
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Void>> update(@PathVariable Long id, @Valid @RequestBody UpdatePersonRequest request) {
+
+        return personService.replaceIfPresent(request.toDomain(id))
+            .map(replaced -> replaced
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Void>> updateSalary(
+        @PathVariable Long id,
+        @RequestParam @Digits(integer = Person.SALARY_INTEGER_DIGITS, fraction = Person.SALARY_FRACTION_DIGITS) BigDecimal salary) {
+
+        return personService.computeSalary(id, current -> salary)
+            .map(person -> ResponseEntity.ok().<Void>build())
+            .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<PersonResponse>> getById(@PathVariable Long id) {
+
+        return personService.findById(id)
+            .map(person -> ResponseEntity.ok(PersonResponse.toResponse(person)))
+            .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @GetMapping("/{id}/age")
+    public Mono<ResponseEntity<Integer>> age(@PathVariable Long id,
+                                             @RequestParam(defaultValue = "years") PeriodOutput output) {
+
+        return personService.findById(id)
+            .flatMap(person -> personService.calculateAge(person, output))
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @GetMapping("/{id}/salary")
+    public Mono<ResponseEntity<BigDecimal>> salary(@PathVariable Long id, @RequestParam SalaryOutput output) {
+
+        return personService.findById(id)
+            .flatMap(person -> personService.calculateSalary(person, output))
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+}
@@ -0,0 +1,33 @@
+package com.sccon.presentation.person;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+@Value
+@Builder
+@Jacksonized
+class SalaryProjectionRequest {
+
+    static final int MAX_IDS = 100_000;
+
+    @JsonProperty("ids")
+    @Size(max = MAX_IDS)
+    private List<@NotNull Long> ids;
+
+    @JsonProperty("all")
+    private boolean all;
+
+    @JsonIgnore
+    @AssertTrue(message = "either ids or all must be informed")
+    boolean isSelection() {
+        return all != (ids != null && !ids.isEmpty());
+    }
+}
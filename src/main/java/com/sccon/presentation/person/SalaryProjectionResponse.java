@@ -0,0 +1,32 @@
+package com.sccon.presentation.person;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sccon.domain.model.SalaryProjection;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.math.BigDecimal;
+
+@Value
+@Builder
+@Jacksonized
+class SalaryProjectionResponse {
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("full")
+    private BigDecimal full;
+
+    @JsonProperty("min")
+    private BigDecimal min;
+
+    static SalaryProjectionResponse toResponse(SalaryProjection projection) {
+        return SalaryProjectionResponse.builder()
+            .id(projection.getId())
+            .full(projection.getFull())
+            .min(projection.getMinimumWages())
+            .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.sccon.presentation.person;
+
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.infrastructure.exception.InvalidCursorException;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Component
+class StringToPersonCursorConverter implements Converter<String, PersonCursor> {
+
+    private static final char SEPARATOR = ':';
+
+    @Override
+    public PersonCursor convert(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+
+            return PersonCursor.builder()
+                .id(Long.valueOf(decoded.substring(0, separator)))
+                .name(decoded.substring(separator + 1))
+                .build();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new InvalidCursorException("Invalid value for after. Use the cursor returned in the Link header", ex);
+        }
+    }
+
+    static String encode(Person person) {
+        String raw = person.getId() + String.valueOf(SEPARATOR) + person.getName();
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
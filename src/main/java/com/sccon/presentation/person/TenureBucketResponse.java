@@ -0,0 +1,30 @@
+package com.sccon.presentation.person;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sccon.domain.model.TenureBucket;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+class TenureBucketResponse {
+
+    @JsonProperty("from")
+    private int from;
+
+    @JsonProperty("to")
+    private int to;
+
+    @JsonProperty("count")
+    private long count;
+
+    static TenureBucketResponse toResponse(TenureBucket bucket) {
+        return TenureBucketResponse.builder()
+            .from(bucket.getFromYears())
+            .to(bucket.getToYears())
+            .count(bucket.getCount())
+            .build();
+    }
+}
@@ -1,12 +1,44 @@
 package com.sccon;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
 class ScconPeopleManagementApplicationTest {
 
+    @Autowired
+    private MockMvc mockMvc;
+
     @Test
     void contextLoads() {
     }
+
+    @Test
+    void shouldExposeMetricsInPrometheusFormat() throws Exception {
+
+        mockMvc.perform(get("/person/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/person/1/salary").param("output", "bogus")).andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(allOf(
+                containsString("http_server_requests_seconds_bucket{"),
+                containsString("person_service_seconds_bucket{class=\"com.sccon.domain.service.person.PersonService\""),
+                containsString("method=\"findById\""),
+                containsString("people_repository_size "),
+                containsString("people_repository_ids_allocated_total "),
+                containsString("people_errors_total{handler=\"invalid_output\"} 1.0"))));
+    }
 }
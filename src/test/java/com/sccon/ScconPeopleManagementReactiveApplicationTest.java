@@ -0,0 +1,31 @@
+package com.sccon;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.main.web-application-type=reactive")
+class ScconPeopleManagementReactiveApplicationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void shouldServePersonRoutesOnWebFlux() {
+
+        webTestClient.get().uri("/person/1")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.id").isEqualTo(1);
+
+        webTestClient.get().uri("/person")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON);
+    }
+}
@@ -1,22 +1,39 @@
 package com.sccon.domain.service.person;
 
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.enums.BatchStatus;
 import com.sccon.domain.enums.PeriodOutput;
 import com.sccon.domain.enums.SalaryOutput;
+import com.sccon.domain.model.AgeBucket;
 import com.sccon.domain.model.Person;
-import com.sccon.infrastructure.repository.person.PersonRepository;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.SalaryProjection;
+import com.sccon.domain.model.TenureBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,9 +42,12 @@ import static org.mockito.Mockito.when;
 class PersonServiceTest {
 
     @Mock
-    private PersonRepository repository;
+    private PersonRepositoryPort repository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MutableClock clock = new MutableClock(LocalDate.of(2025, 8, 9).atTime(12, 0).toInstant(ZoneOffset.UTC));
 
-    @InjectMocks
     private PersonService service;
 
     private Person joseDaSilva;
@@ -35,6 +55,10 @@ class PersonServiceTest {
     @BeforeEach
     void setUp() {
 
+        var calendar = new CalendarService(clock);
+        service = new PersonService(repository, new SalaryService(calendar), new AgeService(calendar),
+            calendar, meterRegistry);
+
         joseDaSilva = Person.builder()
             .id(1L)
             .name("José da Silva")
@@ -49,7 +73,7 @@ class PersonServiceTest {
 
         int age = service.calculateAge(joseDaSilva, PeriodOutput.DAYS);
 
-        assertThat(age).isEqualTo(9125);
+        assertThat(age).isEqualTo(9256);
     }
 
     @Test
@@ -57,7 +81,7 @@ class PersonServiceTest {
 
         int age = service.calculateAge(joseDaSilva, PeriodOutput.MONTHS);
 
-        assertThat(age).isEqualTo(300);
+        assertThat(age).isEqualTo(304);
     }
 
     @Test
@@ -68,6 +92,62 @@ class PersonServiceTest {
         assertThat(age).isEqualTo(25);
     }
 
+    @Test
+    void shouldNotCountBirthdayMonthBeforeBirthDay() {
+
+        var bornLate = joseDaSilva.toBuilder().birthDate(LocalDate.of(2000, 2, 29)).build();
+
+        assertThat(service.calculateAge(bornLate, PeriodOutput.MONTHS)).isEqualTo(305);
+
+        clock.set(LocalDate.of(2026, 2, 28).atStartOfDay().toInstant(ZoneOffset.UTC));
+
+        assertThat(service.calculateAge(bornLate, PeriodOutput.YEARS)).isEqualTo(25);
+        assertThat(service.calculateAge(bornLate, PeriodOutput.DAYS)).isEqualTo(9496);
+    }
+
+    @Test
+    void shouldBuildAgeDistributionInOnePass() {
+
+        when(repository.streamAll()).thenReturn(Stream.of(
+            joseDaSilva,
+            joseDaSilva.toBuilder().id(2L).birthDate(LocalDate.of(1990, 8, 12)).build(),
+            joseDaSilva.toBuilder().id(3L).birthDate(LocalDate.of(1985, 11, 30)).build(),
+            joseDaSilva.toBuilder().id(4L).birthDate(null).build()));
+
+        List<AgeBucket> distribution = service.ageDistribution(10);
+
+        assertThat(distribution).extracting(AgeBucket::getFromYears, AgeBucket::getToYears, AgeBucket::getCount)
+            .containsExactly(
+                tuple(0, 10, 0L),
+                tuple(10, 20, 0L),
+                tuple(20, 30, 1L),
+                tuple(30, 40, 2L));
+    }
+
+    @Test
+    void shouldBuildTenureDistributionFromHireCounts() {
+
+        List<LocalDate> hireDates = List.of(
+            LocalDate.of(2025, 1, 1),
+            LocalDate.of(2020, 8, 9),
+            LocalDate.of(2020, 8, 10),
+            LocalDate.of(2012, 3, 15));
+
+        when(repository.findEarliestHireDate()).thenReturn(Optional.of(LocalDate.of(2012, 3, 15)));
+        when(repository.countHiredOnOrBefore(any())).thenAnswer(invocation -> {
+            LocalDate date = invocation.getArgument(0);
+            return hireDates.stream().filter(hired -> !hired.isAfter(date)).count();
+        });
+
+        List<TenureBucket> distribution = service.tenureDistribution(5);
+
+        assertThat(distribution).extracting(TenureBucket::getFromYears, TenureBucket::getToYears, TenureBucket::getCount)
+            .containsExactly(
+                tuple(0, 5, 2L),
+                tuple(5, 10, 1L),
+                tuple(10, 15, 1L));
+    }
+
     @Test
     void shouldCalculateFullSalary() {
 
@@ -85,6 +165,99 @@ class PersonServiceTest {
 
     }
 
+    @Test
+    void shouldServeRepeatedSalaryFromCache() {
+
+        BigDecimal first = service.calculateSalary(joseDaSilva, SalaryOutput.FULL);
+        BigDecimal second = service.calculateSalary(joseDaSilva, SalaryOutput.FULL);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldRecalculateSalaryAfterPartialUpdate() {
+
+        when(repository.computeIfPresent(eq(1L), any())).thenAnswer(invocation -> {
+            UnaryOperator<Person> update = invocation.getArgument(1);
+            return Optional.of(update.apply(joseDaSilva));
+        });
+
+        service.calculateSalary(joseDaSilva, SalaryOutput.FULL);
+        var raised = service.computeSalary(1L, salary -> new BigDecimal("2000.00")).orElseThrow();
+
+        assertThat(service.calculateSalary(raised, SalaryOutput.FULL)).isEqualTo(new BigDecimal("6300.00"));
+    }
+
+    @Test
+    void shouldRollSalaryOverAtMidnight() {
+
+        var hiredToday = joseDaSilva.toBuilder().hireDate(LocalDate.of(2020, 8, 10)).build();
+
+        assertThat(service.calculateSalary(hiredToday, SalaryOutput.FULL)).isEqualTo(new BigDecimal("4679.76"));
+
+        clock.set(LocalDate.of(2025, 8, 10).atStartOfDay().toInstant(ZoneOffset.UTC));
+
+        assertThat(service.calculateSalary(hiredToday, SalaryOutput.FULL)).isEqualTo(new BigDecimal("5460.20"));
+    }
+
+    @Test
+    void shouldProjectSalariesInRequestedOrderSkippingUnknownIds() {
+
+        List<Long> ids = LongStream.rangeClosed(1, 10_000).boxed().toList();
+
+        when(repository.findById(any())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return id % 1_000 == 0 ? Optional.empty() : Optional.of(joseDaSilva.toBuilder().id(id).build());
+        });
+
+        List<SalaryProjection> projections;
+        try (Stream<SalaryProjection> stream = service.projectSalaries(ids)) {
+            projections = stream.toList();
+        }
+
+        assertThat(projections).hasSize(9_990);
+        assertThat(projections).extracting(SalaryProjection::getId).isSorted();
+        assertThat(projections.get(0).getFull()).isEqualTo(new BigDecimal("5460.20"));
+        assertThat(projections.get(0).getMinimumWages()).isEqualTo(new BigDecimal("4.19"));
+    }
+
+    @Test
+    void shouldProjectSalariesForEveryone() {
+
+        when(repository.streamAll()).thenReturn(Stream.of(joseDaSilva));
+
+        try (Stream<SalaryProjection> stream = service.projectAllSalaries()) {
+            assertThat(stream.toList()).extracting(SalaryProjection::getId, SalaryProjection::getFull)
+                .containsExactly(tuple(1L, new BigDecimal("5460.20")));
+        }
+    }
+
+    @Test
+    void shouldAssignIdsToCreatedBatchItemsOnly() {
+
+        var create = PersonBatchItem.builder()
+            .operation(BatchOperation.CREATE)
+            .person(Person.builder().name("Ana Santos").build())
+            .build();
+        var delete = PersonBatchItem.builder()
+            .operation(BatchOperation.DELETE)
+            .person(Person.builder().id(1L).build())
+            .build();
+
+        when(repository.getNextId()).thenReturn(4L);
+        when(repository.applyAll(any())).thenAnswer(invocation -> {
+            List<PersonBatchItem> items = invocation.getArgument(0);
+            return items.stream()
+                .map(item -> PersonBatchResult.builder().id(item.getPerson().getId()).status(BatchStatus.CREATED).build())
+                .toList();
+        });
+
+        List<PersonBatchResult> results = service.applyBatch(List.of(create, delete));
+
+        assertThat(results).extracting(PersonBatchResult::getId).containsExactly(4L, 1L);
+        verify(repository).getNextId();
+    }
+
     @Test
     void shouldListAllPeopleSortedByName() {
 
@@ -103,61 +276,40 @@ class PersonServiceTest {
     }
 
     @Test
-    void shouldSavePersonWithProvidedId() {
-        var person = Person.builder()
-            .id(1L)
-            .name("José da Silva")
-            .birthDate(LocalDate.of(2000, 4, 6))
-            .hireDate(LocalDate.of(2020, 5, 10))
-            .salary(new BigDecimal("1558.00"))
-            .build();
-
-        service.save(person);
+    void shouldListPageAfterCursor() {
 
-        verify(repository).save(any(Person.class));
-        verify(repository, never()).getNextId();
-    }
-
-    @Test
-    void shouldSavePersonWithGeneratedId() {
-        var person = Person.builder()
-            .name("José da Silva")
-            .birthDate(LocalDate.of(2000, 4, 6))
-            .hireDate(LocalDate.of(2020, 5, 10))
-            .salary(new BigDecimal("1558.00"))
+        var cursor = PersonCursor.of(joseDaSilva);
+        var maria = Person.builder()
+            .id(2L)
+            .name("Maria Silva")
             .build();
 
-        when(repository.getNextId()).thenReturn(1L);
+        when(repository.findPage(cursor, 10)).thenReturn(List.of(maria));
 
-        service.save(person);
+        List<Person> result = service.listPage(cursor, 10);
 
-        verify(repository).save(any(Person.class));
-        verify(repository).getNextId();
+        assertThat(result).containsExactly(maria);
     }
 
     @Test
-    void shouldUpdateExistingPerson() {
+    void shouldStreamAllPeople() {
 
-        var id = 1L;
-        var person = Person.builder()
-            .id(id)
-            .name("José da Silva")
-            .birthDate(LocalDate.of(2000, 4, 6))
-            .hireDate(LocalDate.of(2020, 5, 10))
-            .salary(new BigDecimal("1558.00"))
-            .build();
-
-        service.update(person);
+        when(repository.streamAll()).thenReturn(Stream.of(joseDaSilva));
 
-        verify(repository).save(any(Person.class));
+        assertThat(service.streamAll()).containsExactly(joseDaSilva);
     }
 
     @Test
-    void shouldDeletePerson() {
+    void shouldTimeStreamsWhenTheyAreClosedRatherThanWhenTheyAreCreated() {
+
+        when(repository.streamAll()).thenReturn(Stream.of(joseDaSilva));
 
-        service.deletePerson(1L);
+        Stream<Person> people = service.streamAll();
+        assertThat(meterRegistry.find("person.service").tag("method", "streamAll").timer()).isNull();
 
-        verify(repository).delete(1L);
+        people.close();
+
+        assertThat(meterRegistry.get("person.service").tag("method", "streamAll").timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -169,28 +321,47 @@ class PersonServiceTest {
     }
 
     @Test
-    void shouldCheckIfPersonExists() {
-        when(repository.existsById(1L)).thenReturn(true);
+    void shouldInsertPersonWithGeneratedIdIfAbsent() {
+        var person = joseDaSilva.toBuilder().id(null).build();
 
-        boolean exists = service.existsById(1L);
+        when(repository.getNextId()).thenReturn(4L);
+        when(repository.insertIfAbsent(person.toBuilder().id(4L).build())).thenReturn(true);
 
-        assertThat(exists).isTrue();
+        assertThat(service.insertIfAbsent(person)).isTrue();
     }
 
     @Test
-    void shouldPartialUpdateWhenSalaryIsNotNull() {
-        BigDecimal newSalary = new BigDecimal("2000.00");
+    void shouldNotInsertPersonWhenIdIsTaken() {
+        when(repository.insertIfAbsent(joseDaSilva)).thenReturn(false);
+
+        assertThat(service.insertIfAbsent(joseDaSilva)).isFalse();
+        verify(repository, never()).getNextId();
+    }
 
-        service.partialUpdate(joseDaSilva, newSalary);
+    @Test
+    void shouldReplacePersonIfPresent() {
+        when(repository.replaceIfPresent(joseDaSilva)).thenReturn(true);
 
-        verify(repository).save(any(Person.class));
+        assertThat(service.replaceIfPresent(joseDaSilva)).isTrue();
     }
 
     @Test
-    void shouldNotPartialUpdateWhenSalaryIsNull() {
-        service.partialUpdate(joseDaSilva, null);
+    void shouldRemovePersonIfPresent() {
+        when(repository.removeIfPresent(1L)).thenReturn(true);
 
-        verify(repository, never()).save(any(Person.class));
+        assertThat(service.removeIfPresent(1L)).isTrue();
+    }
+
+    @Test
+    void shouldComputeSalaryFromCurrentPerson() {
+        when(repository.computeIfPresent(eq(1L), any())).thenAnswer(invocation -> {
+            UnaryOperator<Person> update = invocation.getArgument(1);
+            return Optional.of(update.apply(joseDaSilva));
+        });
+
+        Optional<Person> result = service.computeSalary(1L, salary -> salary.add(BigDecimal.TEN));
+
+        assertThat(result).map(Person::getSalary).contains(new BigDecimal("1568.00"));
     }
 
     @Test
@@ -201,4 +372,32 @@ class PersonServiceTest {
 
         assertThat(nextId).isEqualTo(10L);
     }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
 }
@@ -0,0 +1,51 @@
+package com.sccon.domain.service.person;
+
+import com.sccon.domain.model.Person;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactivePersonServiceTest {
+
+    private static final Person JOSE = Person.builder().id(1L).name("Jose").build();
+
+    @Mock
+    private PersonServicePort personService;
+
+    @InjectMocks
+    private ReactivePersonService service;
+
+    @Test
+    void shouldReadTheRepositoryOffTheSubscribingThread() {
+
+        List<String> threads = new CopyOnWriteArrayList<>();
+        when(personService.listAll()).thenAnswer(invocation -> record(threads, List.of(JOSE)));
+        when(personService.listPage(null, 10)).thenAnswer(invocation -> record(threads, List.of(JOSE)));
+        when(personService.streamAll()).thenAnswer(invocation -> record(threads, Stream.of(JOSE)));
+        when(personService.findById(1L)).thenAnswer(invocation -> record(threads, Optional.of(JOSE)));
+
+        StepVerifier.create(service.listAll()).expectNext(JOSE).verifyComplete();
+        StepVerifier.create(service.listPage(null, 10)).expectNext(JOSE).verifyComplete();
+        StepVerifier.create(service.streamAll()).expectNext(JOSE).verifyComplete();
+        StepVerifier.create(service.findById(1L)).expectNext(JOSE).verifyComplete();
+
+        assertThat(threads).hasSize(4).allMatch(thread -> thread.startsWith("boundedElastic-"));
+    }
+
+    private static <T> T record(List<String> threads, T result) {
+        threads.add(Thread.currentThread().getName());
+        return result;
+    }
+}
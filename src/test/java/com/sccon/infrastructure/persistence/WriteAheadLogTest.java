@@ -0,0 +1,224 @@
+package com.sccon.infrastructure.persistence;
+
+import com.sccon.infrastructure.persistence.WriteAheadLog.FsyncPolicy;
+import com.sccon.infrastructure.persistence.WriteAheadLog.SnapshotSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteAheadLogTest {
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldReplayAppendedRecordsInOrder() throws IOException {
+
+        try (var log = open(FsyncPolicy.ALWAYS, sink -> { })) {
+            assertThat(log.isFresh()).isTrue();
+
+            log.append(PUT, 10L, bytes("first"));
+            log.append(DELETE, 20L, new byte[0]);
+            log.append(PUT, 30L, bytes("third"));
+            log.sync();
+        }
+
+        assertThat(replay()).containsExactly("1:10:first", "2:20:", "1:30:third");
+    }
+
+    @Test
+    void shouldKeepAppendingAfterReplay() throws IOException {
+
+        try (var log = open(FsyncPolicy.NEVER, sink -> { })) {
+            log.append(PUT, 1L, bytes("one"));
+        }
+        try (var log = open(FsyncPolicy.INTERVAL, sink -> { })) {
+            assertThat(log.isFresh()).isFalse();
+            log.append(PUT, 2L, bytes("two"));
+        }
+
+        assertThat(replay()).containsExactly("1:1:one", "1:2:two");
+    }
+
+    @Test
+    void shouldTruncateTornTailOnReplay() throws IOException {
+
+        try (var log = open(FsyncPolicy.ALWAYS, sink -> { })) {
+            log.append(PUT, 1L, bytes("complete"));
+        }
+        Path segment = single(".log");
+        long validSize = Files.size(segment);
+        Files.write(segment, new byte[] {0, 0, 0, 42, 1, 0, 0}, StandardOpenOption.APPEND);
+
+        assertThat(replay()).containsExactly("1:1:complete");
+        assertThat(Files.size(segment)).isEqualTo(validSize);
+    }
+
+    @Test
+    void shouldStopReplayAtCorruptedRecord() throws IOException {
+
+        try (var log = open(FsyncPolicy.ALWAYS, sink -> { })) {
+            log.append(PUT, 1L, bytes("kept"));
+            log.append(PUT, 2L, bytes("corrupted"));
+        }
+        Path segment = single(".log");
+        byte[] content = Files.readAllBytes(segment);
+        content[content.length - 6] ^= 0x7F;
+        Files.write(segment, content);
+
+        assertThat(replay()).containsExactly("1:1:kept");
+    }
+
+    @Test
+    void shouldNotLoseRecordsAppendedConcurrently() throws Exception {
+        int threads = 8;
+        int recordsPerThread = 5_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (var log = open(FsyncPolicy.ALWAYS, sink -> { })) {
+            List<Callable<Void>> writers = IntStream.range(0, threads)
+                .mapToObj(thread -> (Callable<Void>) () -> {
+                    for (int i = 0; i < recordsPerThread; i++) {
+                        log.append(PUT, (long) thread * recordsPerThread + i, bytes("person"));
+                        log.sync();
+                    }
+                    return null;
+                })
+                .toList();
+
+            for (Future<Void> writer : executor.invokeAll(writers))
+                writer.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(replay()).hasSize(threads * recordsPerThread).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldRecoverFromSnapshotPlusLogTailAndDropCompactedSegments() throws IOException {
+        Map<Long, String> state = new ConcurrentHashMap<>();
+
+        try (var log = open(FsyncPolicy.ALWAYS, snapshotOf(state))) {
+            put(log, state, 1L, "one");
+            put(log, state, 2L, "two");
+            log.snapshot();
+            put(log, state, 3L, "three");
+            log.snapshot();
+            put(log, state, 1L, "uno");
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                .containsExactlyInAnyOrder("people-0000000000000000002.snapshot", "people-0000000000000000002.log");
+        }
+        assertThat(replay()).containsExactly("1:1:one", "1:2:two", "1:3:three", "1:1:uno");
+    }
+
+    @Test
+    void shouldNotLoseWritesAppliedWhileSnapshotting() throws Exception {
+        Map<Long, String> state = new ConcurrentHashMap<>();
+        int threads = 4;
+        int writesPerThread = 5_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (var log = open(FsyncPolicy.NEVER, snapshotOf(state))) {
+            List<Callable<Void>> writers = IntStream.range(0, threads)
+                .mapToObj(thread -> (Callable<Void>) () -> {
+                    for (int i = 0; i < writesPerThread; i++)
+                        put(log, state, (long) i % 1_000, thread + "-" + i);
+                    return null;
+                })
+                .toList();
+
+            List<Future<Void>> results = writers.stream().map(executor::submit).toList();
+            for (int i = 0; i < 5; i++)
+                log.snapshot();
+            for (Future<Void> result : results)
+                result.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        Map<Long, String> recovered = new ConcurrentHashMap<>();
+        open(FsyncPolicy.NEVER, (type, key, payload) -> recovered.put(key, string(payload)), sink -> { }).close();
+
+        assertThat(recovered).isEqualTo(state);
+    }
+
+    private WriteAheadLog open(FsyncPolicy fsyncPolicy, SnapshotSource snapshotSource) throws IOException {
+        return open(fsyncPolicy, (type, key, payload) -> { }, snapshotSource);
+    }
+
+    private WriteAheadLog open(FsyncPolicy fsyncPolicy, WriteAheadLog.RecordHandler handler,
+                               SnapshotSource snapshotSource) throws IOException {
+        return WriteAheadLog.open(WriteAheadLog.Settings.builder()
+            .directory(directory)
+            .name("people")
+            .fsyncPolicy(fsyncPolicy)
+            .fsyncInterval(Duration.ofMillis(10))
+            .snapshotInterval(Duration.ZERO)
+            .build(), handler, snapshotSource);
+    }
+
+    private List<String> replay() throws IOException {
+        List<String> records = new ArrayList<>();
+
+        open(FsyncPolicy.NEVER, (type, key, payload) -> records.add(type + ":" + key + ":" + string(payload)),
+            sink -> { }).close();
+
+        return records;
+    }
+
+    private Path single(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(suffix)).findFirst().orElseThrow();
+        }
+    }
+
+    private static void put(WriteAheadLog log, Map<Long, String> state, long key, String value) {
+        log.guard(() -> state.compute(key, (id, previous) -> {
+            log.append(PUT, id, bytes(value));
+            return value;
+        }));
+    }
+
+    private static SnapshotSource snapshotOf(Map<Long, String> state) {
+        return sink -> {
+            for (var entry : state.entrySet())
+                sink.write(PUT, entry.getKey(), bytes(entry.getValue()));
+        };
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
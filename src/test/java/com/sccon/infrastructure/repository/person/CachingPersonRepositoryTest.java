@@ -0,0 +1,85 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingPersonRepositoryTest extends PersonRepositoryContractTest {
+
+    private static final AtomicLong NANOS = new AtomicLong();
+
+    @Override
+    protected PersonRepositoryPort createRepository() {
+        return new CachingPersonRepository(new PersonRepository(), 100, Duration.ofMinutes(1), NANOS::get);
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromCacheUntilTheyExpire() {
+        var cache = cached().getCache();
+
+        repository.findById(1L);
+        repository.findById(1L);
+        repository.findById(99L);
+
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(2);
+
+        NANOS.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        assertThat(repository.findById(1L)).map(Person::getName).contains("José da Silva");
+        assertThat(cache.stats().missCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldAnswerExistenceChecksThroughTheCache() {
+        var cache = cached().getCache();
+
+        assertThat(repository.existsById(1L)).isTrue();
+        assertThat(repository.existsById(1L)).isTrue();
+        assertThat(repository.findById(1L)).isPresent();
+
+        assertThat(cache.stats().hitCount()).isEqualTo(2);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateCachedPeopleOnEveryWrite() {
+        repository.findById(1L);
+        repository.findById(2L);
+
+        repository.computeIfPresent(1L, person -> person.toBuilder().name("José Souza").build());
+        repository.applyAll(List.of(PersonBatchItem.builder()
+            .operation(BatchOperation.DELETE)
+            .person(Person.builder().id(2L).build())
+            .build()));
+
+        assertThat(repository.findById(1L)).map(Person::getName).contains("José Souza");
+        assertThat(repository.findById(2L)).isEmpty();
+        assertThat(repository.existsById(2L)).isFalse();
+    }
+
+    @Test
+    void shouldStayBoundedWhenReadingMorePeopleThanItHolds() {
+        var cache = cached().getCache();
+
+        LongStream.rangeClosed(4, 10_000).forEach(id -> repository.save(Person.builder().id(id).name("P" + id).build()));
+        LongStream.rangeClosed(1, 10_000).forEach(repository::findById);
+        cache.cleanUp();
+
+        assertThat(cache.estimatedSize()).isLessThanOrEqualTo(100);
+        assertThat(cache.stats().evictionCount()).isGreaterThanOrEqualTo(9_900);
+    }
+
+    private CachingPersonRepository cached() {
+        return (CachingPersonRepository) repository;
+    }
+}
@@ -0,0 +1,206 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.enums.BatchStatus;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarPersonRepositoryTest extends PersonRepositoryContractTest {
+
+    @Override
+    protected PersonRepositoryPort createRepository() {
+        return new ColumnarPersonRepository();
+    }
+
+    @Test
+    void shouldBehaveLikeTheMapRepositoryUnderRandomWrites() {
+        var reference = new PersonRepository();
+        var random = new Random(11);
+
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(1_500);
+
+            switch (random.nextInt(6)) {
+                case 0, 1 -> {
+                    var person = randomPerson(random, id);
+                    repository.save(person);
+                    reference.save(person);
+                }
+                case 2 -> {
+                    var person = randomPerson(random, id);
+                    assertThat(repository.insertIfAbsent(person)).isEqualTo(reference.insertIfAbsent(person));
+                }
+                case 3 -> {
+                    var person = randomPerson(random, id);
+                    assertThat(repository.replaceIfPresent(person)).isEqualTo(reference.replaceIfPresent(person));
+                }
+                case 4 -> assertThat(repository.removeIfPresent(id)).isEqualTo(reference.removeIfPresent(id));
+                default -> {
+                    var raise = BigDecimal.valueOf(random.nextInt(100));
+                    assertThat(repository.computeIfPresent(id, person -> person.toBuilder()
+                            .salary(person.getSalary() == null ? raise : person.getSalary().add(raise)).build()))
+                        .map(Person::getSalary)
+                        .isEqualTo(reference.computeIfPresent(id, person -> person.toBuilder()
+                            .salary(person.getSalary() == null ? raise : person.getSalary().add(raise)).build())
+                            .map(Person::getSalary));
+                }
+            }
+        }
+
+        assertThat(repository.findAll()).usingRecursiveFieldByFieldElementComparatorIgnoringFields("version")
+            .containsExactlyElementsOf(reference.findAll());
+        assertThat(repository.stats()).isEqualTo(reference.stats());
+        assertThat(repository.findEarliestHireDate()).isEqualTo(reference.findEarliestHireDate());
+        assertThat(repository.countHiredOnOrBefore(LocalDate.of(2012, 6, 30)))
+            .isEqualTo(reference.countHiredOnOrBefore(LocalDate.of(2012, 6, 30)));
+        assertThat(repository.findByNamePrefix("Person 1")).extracting(Person::getId)
+            .containsExactlyElementsOf(reference.findByNamePrefix("Person 1").stream().map(Person::getId).toList());
+        assertThat(repository.findByNameBetween("Person 2", "Person 4")).extracting(Person::getId)
+            .containsExactlyElementsOf(reference.findByNameBetween("Person 2", "Person 4").stream().map(Person::getId).toList());
+        assertThat(repository.getNextId()).isEqualTo(reference.getNextId());
+
+        for (int i = 0; i < 30; i++) {
+            LocalDate hiredFrom = LocalDate.of(2000, 1, 1).plusDays(random.nextInt(9_000));
+            var query = PersonQuery.builder()
+                .nameStartsWith(random.nextBoolean() ? "Person " + random.nextInt(50) : null)
+                .hiredFrom(random.nextBoolean() ? hiredFrom : null)
+                .hiredTo(random.nextBoolean() ? hiredFrom.plusDays(random.nextInt(3_000)) : null)
+                .salaryGte(random.nextBoolean() ? new BigDecimal(1_000 + random.nextInt(9_000) + ".50") : null)
+                .salaryLte(random.nextBoolean() ? BigDecimal.valueOf(5_000 + random.nextInt(9_000)) : null)
+                .build();
+
+            assertThat(pages(after -> repository.findPage(query, after, 37))).as(query.toString())
+                .extracting(Person::getId)
+                .containsExactlyElementsOf(pages(after -> reference.findPage(query, after, 37)).stream()
+                    .map(Person::getId).toList());
+        }
+    }
+
+    @Test
+    void shouldKeepNameOrderWhenRowsAreMovedByDeletes() {
+        repository.save(Person.builder().id(4L).name("Ana Santos").build());
+        repository.save(Person.builder().id(5L).name("Bruno Lima").build());
+
+        assertThat(repository.removeIfPresent(2L)).isTrue();
+        assertThat(repository.removeIfPresent(4L)).isTrue();
+
+        assertThat(repository.findAll()).extracting(Person::getName)
+            .containsExactly("Bruno Lima", "Carlos Souza", "José da Silva");
+        assertThat(repository.findById(5L)).map(Person::getName).contains("Bruno Lima");
+        assertThat(repository.findPage(PersonCursor.builder().name("Bruno Lima").id(5L).build(), 10))
+            .extracting(Person::getId).containsExactly(3L, 1L);
+        assertThat(repository.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReorderOnceAfterBulkBatches() {
+        List<PersonBatchItem> items = LongStream.rangeClosed(4, 1_000)
+            .mapToObj(id -> PersonBatchItem.builder()
+                .operation(BatchOperation.CREATE)
+                .person(Person.builder().id(id).name("Person " + (1_000 - id)).build())
+                .build())
+            .toList();
+
+        assertThat(repository.applyAll(items)).extracting(PersonBatchResult::getStatus).containsOnly(BatchStatus.CREATED);
+
+        List<Person> all = repository.findAll();
+        assertThat(all).hasSize(1_000);
+        assertThat(all).extracting(Person::getName).isSorted();
+        assertThat(repository.streamAll()).extracting(Person::getId)
+            .containsExactlyElementsOf(all.stream().map(Person::getId).toList());
+    }
+
+    @Test
+    void shouldReclaimNameArenaOnRenames() {
+        for (int i = 0; i < 10_000; i++)
+            repository.computeIfPresent(1L, person -> person.toBuilder().name("José " + person.getVersion()).build());
+
+        assertThat(repository.findById(1L)).map(Person::getName).get().asString().startsWith("José ");
+        assertThat(repository.findAll()).extracting(Person::getName).element(1).asString().startsWith("José ");
+    }
+
+    @Test
+    void shouldKeepSalaryScale() {
+        repository.save(Person.builder().id(4L).name("Ana").salary(new BigDecimal("2500.50")).build());
+
+        assertThat(repository.findById(4L)).map(Person::getSalary).contains(new BigDecimal("2500.50"));
+        assertThatThrownBy(() -> repository.save(Person.builder().id(5L).salary(new BigDecimal("1e30")).build()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(repository.existsById(5L)).isFalse();
+        assertThat(repository.getLastId()).isEqualTo(4L);
+    }
+
+    @Test
+    void shouldNotLoseWritesUnderConcurrency() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Callable<Void>> tasks = IntStream.range(0, 8)
+                .<Callable<Void>>mapToObj(thread -> () -> {
+                    for (int i = 0; i < 500; i++) {
+                        repository.insertIfAbsent(Person.builder()
+                            .id(repository.getNextId())
+                            .name("Person " + thread + "-" + i)
+                            .salary(BigDecimal.ONE)
+                            .build());
+                        repository.findAll();
+                    }
+                    return null;
+                })
+                .toList();
+
+            for (Future<Void> future : executor.invokeAll(tasks))
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(repository.size()).isEqualTo(4_003);
+        assertThat(repository.findAll()).hasSize(4_003).extracting(Person::getName).isSorted();
+    }
+
+    private static List<Person> pages(Function<PersonCursor, List<Person>> pageAfter) {
+        List<Person> paged = new ArrayList<>();
+        PersonCursor cursor = null;
+
+        List<Person> page;
+        do {
+            page = pageAfter.apply(cursor);
+            paged.addAll(page);
+            cursor = page.isEmpty() ? null : PersonCursor.of(page.get(page.size() - 1));
+        } while (page.size() == 37);
+
+        return paged;
+    }
+
+    private static Person randomPerson(Random random, long id) {
+        return Person.builder()
+            .id(id)
+            .name(random.nextInt(20) == 0 ? null : "Person " + random.nextInt(500))
+            .birthDate(LocalDate.of(1970, 1, 1).plusDays(random.nextInt(12_000)))
+            .hireDate(random.nextInt(10) == 0 ? null : LocalDate.of(2000, 1, 1).plusDays(random.nextInt(9_000)))
+            .salary(random.nextInt(10) == 0 ? null : new BigDecimal(1_000 + random.nextInt(9_000) + "." + random.nextInt(10)))
+            .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.enums.BatchStatus;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcPersonRepositoryTest extends PersonRepositoryContractTest {
+
+    @Override
+    protected PersonRepositoryPort createRepository() {
+        return new JdbcPersonRepository(settings("jdbc:h2:mem:" + UUID.randomUUID()));
+    }
+
+    @Test
+    void shouldKeepPeopleAndIdsAcrossRestarts(@TempDir Path directory) {
+        String url = "jdbc:h2:file:" + directory.resolve("people");
+        var ana = Person.builder()
+            .id(4L)
+            .name("Ana Santos")
+            .birthDate(LocalDate.of(1995, 7, 15))
+            .hireDate(LocalDate.of(2022, 1, 10))
+            .salary(new BigDecimal("2500.50"))
+            .build();
+
+        try (var persistent = new JdbcPersonRepository(settings(url))) {
+            persistent.insertIfAbsent(ana);
+            persistent.save(Person.builder().id(5L).name("Pedro").build());
+            persistent.computeIfPresent(3L, person -> person.toBuilder().salary(new BigDecimal("3000")).build());
+            persistent.removeIfPresent(1L);
+            persistent.delete(5L);
+        }
+
+        try (var restarted = new JdbcPersonRepository(settings(url))) {
+            assertThat(restarted.findAll()).extracting(Person::getName)
+                .containsExactly("Ana Santos", "Carlos Souza", "Maria Oliveira");
+            assertThat(restarted.findById(4L).get()).usingRecursiveComparison().ignoringFields("version").isEqualTo(ana);
+            assertThat(restarted.findById(3L).get().getSalary()).isEqualTo(new BigDecimal("3000"));
+            assertThat(restarted.getNextId()).isEqualTo(6L);
+            assertThat(restarted.getVersion()).isGreaterThanOrEqualTo(restarted.findById(3L).get().getVersion());
+        }
+    }
+
+    @Test
+    void shouldBulkLoadMoreRowsThanOneJdbcBatchOrArrayHolds() {
+        List<PersonBatchItem> items = LongStream.rangeClosed(4, 70_003)
+            .mapToObj(id -> PersonBatchItem.builder()
+                .operation(BatchOperation.CREATE)
+                .person(Person.builder().id(id).name("Person " + id).salary(BigDecimal.valueOf(id)).build())
+                .build())
+            .toList();
+
+        assertThat(repository.applyAll(items)).extracting(PersonBatchResult::getStatus).containsOnly(BatchStatus.CREATED);
+        assertThat(repository.size()).isEqualTo(70_003);
+        assertThat(repository.streamAll()).hasSize(70_003).extracting(Person::getName).isSorted();
+        assertThat(repository.findPage(PersonCursor.builder().name("Maria Oliveira").id(2L).build(), 2))
+            .extracting(Person::getName).containsExactly("Person 10", "Person 100");
+        assertThat(repository.applyAll(items)).extracting(PersonBatchResult::getStatus).containsOnly(BatchStatus.CONFLICT);
+        assertThat(repository.stats().getMaxSalary()).isEqualTo(BigDecimal.valueOf(70_003));
+    }
+
+    private static JdbcPersonRepository.Settings settings(String url) {
+        return JdbcPersonRepository.Settings.builder()
+            .url(url)
+            .username("sa")
+            .password("")
+            .poolSize(4)
+            .statementCacheSize(64)
+            .batchSize(1_000)
+            .build();
+    }
+}
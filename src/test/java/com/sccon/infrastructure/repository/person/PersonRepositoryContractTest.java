@@ -0,0 +1,560 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.enums.BatchStatus;
+import com.sccon.domain.enums.ChangeType;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.model.PersonStats;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+abstract class PersonRepositoryContractTest {
+
+    protected final PersonRepositoryPort repository = createRepository();
+
+    protected abstract PersonRepositoryPort createRepository();
+
+    @AfterEach
+    void closeRepository() throws IOException {
+        if (repository instanceof Closeable closeable)
+            closeable.close();
+    }
+
+    @Test
+    void shouldFindAllPeople() {
+        List<Person> people = repository.findAll();
+
+        assertThat(people).hasSize(3);
+        assertThat(people.get(0).getName()).isEqualTo("Carlos Souza");
+        assertThat(people.get(1).getName()).isEqualTo("José da Silva");
+        assertThat(people.get(2).getName()).isEqualTo("Maria Oliveira");
+    }
+
+    @Test
+    void shouldFindAllInSameOrderAsSortingByName() {
+        var random = new Random(42);
+
+        for (long id = 4; id < 2_000; id++) {
+            repository.save(Person.builder()
+                .id(id)
+                .name("Person " + random.nextInt(500))
+                .build());
+        }
+        for (int i = 0; i < 1_000; i++) {
+            long id = 1 + random.nextInt(2_000);
+
+            if (random.nextBoolean())
+                repository.delete(id);
+            else
+                repository.findById(id).ifPresent(person ->
+                    repository.save(person.toBuilder().name("Renamed " + random.nextInt(500)).build()));
+        }
+
+        List<Person> expected = LongStream.rangeClosed(1, 2_000)
+            .mapToObj(repository::findById)
+            .flatMap(Optional::stream)
+            .sorted(Comparator.comparing(Person::getName))
+            .toList();
+
+        assertThat(repository.findAll())
+            .extracting(Person::getName)
+            .containsExactlyElementsOf(expected.stream().map(Person::getName).toList());
+        assertThat(repository.findAll()).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void shouldKeepIndexConsistentUnderConcurrentRenames() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> renames = IntStream.range(0, 8)
+                .mapToObj(thread -> (Callable<Void>) () -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        long id = 1 + (i % 3);
+                        repository.save(repository.findById(id).orElseThrow().toBuilder()
+                            .name("Name " + thread + "-" + i)
+                            .build());
+                    }
+                    return null;
+                })
+                .toList();
+
+            for (Future<Void> rename : executor.invokeAll(renames))
+                rename.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(repository.findAll())
+            .hasSize(3)
+            .extracting(Person::getId)
+            .containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(repository.findAll())
+            .allSatisfy(person -> assertThat(repository.findById(person.getId())).contains(person));
+    }
+
+    @Test
+    void shouldApplyBatchReportingPerItemStatus() {
+
+        var ana = Person.builder().id(4L).name("Ana Santos").build();
+        var renamedMaria = Person.builder().id(2L).name("Maria Costa").build();
+
+        List<PersonBatchResult> results = repository.applyAll(List.of(
+            PersonBatchItem.builder().operation(BatchOperation.CREATE).person(ana).build(),
+            PersonBatchItem.builder().operation(BatchOperation.CREATE).person(renamedMaria).build(),
+            PersonBatchItem.builder().operation(BatchOperation.UPDATE).person(renamedMaria).build(),
+            PersonBatchItem.builder().operation(BatchOperation.UPDATE).person(Person.builder().id(99L).build()).build(),
+            PersonBatchItem.builder().operation(BatchOperation.DELETE).person(Person.builder().id(1L).build()).build(),
+            PersonBatchItem.builder().operation(BatchOperation.DELETE).person(Person.builder().id(1L).build()).build()));
+
+        assertThat(results).extracting(PersonBatchResult::getId, PersonBatchResult::getStatus).containsExactly(
+            tuple(4L, BatchStatus.CREATED),
+            tuple(2L, BatchStatus.CONFLICT),
+            tuple(2L, BatchStatus.UPDATED),
+            tuple(99L, BatchStatus.NOT_FOUND),
+            tuple(1L, BatchStatus.DELETED),
+            tuple(1L, BatchStatus.NOT_FOUND));
+        assertThat(repository.findAll()).extracting(Person::getName)
+            .containsExactly("Ana Santos", "Carlos Souza", "Maria Costa");
+        assertThat(repository.getNextId()).isEqualTo(5L);
+    }
+
+    @Test
+    void shouldQueryBySecondaryIndexes() {
+        repository.save(Person.builder().id(4L).name("Maria Antonia").hireDate(LocalDate.of(2018, 6, 1))
+            .salary(new BigDecimal("3000")).build());
+
+        var hiredSince2015 = PersonQuery.builder()
+            .hiredFrom(LocalDate.of(2015, 1, 1))
+            .hiredTo(LocalDate.of(2020, 12, 31))
+            .build();
+        var wellPaidMarias = PersonQuery.builder()
+            .nameStartsWith("Maria")
+            .salaryGte(new BigDecimal("2500.00"))
+            .build();
+        var lowSalaries = PersonQuery.builder().salaryLte(new BigDecimal("2000")).build();
+
+        assertThat(repository.findPage(hiredSince2015, null, 10)).extracting(Person::getName)
+            .containsExactly("José da Silva", "Maria Antonia", "Maria Oliveira");
+        assertThat(repository.findPage(wellPaidMarias, null, 10)).extracting(Person::getName)
+            .containsExactly("Maria Antonia");
+        assertThat(repository.findPage(lowSalaries, null, 10)).extracting(Person::getName)
+            .containsExactly("Carlos Souza", "José da Silva");
+    }
+
+    @Test
+    void shouldPageQueryResultsLikeFilteringFindAll() {
+        var random = new Random(7);
+
+        for (long id = 4; id <= 2_000; id++)
+            repository.save(Person.builder()
+                .id(id)
+                .name("Person " + random.nextInt(500))
+                .hireDate(LocalDate.of(2000, 1, 1).plusDays(random.nextInt(9_000)))
+                .salary(BigDecimal.valueOf(1_000 + random.nextInt(9_000)))
+                .build());
+
+        for (int i = 0; i < 50; i++) {
+            LocalDate hiredFrom = LocalDate.of(2000, 1, 1).plusDays(random.nextInt(9_000));
+            var query = PersonQuery.builder()
+                .nameStartsWith(random.nextBoolean() ? "Person " + random.nextInt(50) : null)
+                .hiredFrom(random.nextBoolean() ? hiredFrom : null)
+                .hiredTo(random.nextBoolean() ? hiredFrom.plusDays(random.nextInt(3_000)) : null)
+                .salaryGte(random.nextBoolean() ? BigDecimal.valueOf(1_000 + random.nextInt(9_000)) : null)
+                .salaryLte(random.nextBoolean() ? BigDecimal.valueOf(5_000 + random.nextInt(9_000)) : null)
+                .build();
+
+            List<Person> expected = repository.findAll().stream().filter(query::matches).toList();
+            List<Person> paged = new ArrayList<>();
+            PersonCursor cursor = null;
+
+            List<Person> page;
+            do {
+                page = repository.findPage(query, cursor, 37);
+                paged.addAll(page);
+                cursor = page.isEmpty() ? null : PersonCursor.of(page.get(page.size() - 1));
+            } while (page.size() == 37);
+
+            assertThat(paged).as(query.toString()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldKeepStatsUpToDateOnEveryWrite() {
+
+        assertThat(repository.stats()).isEqualTo(PersonStats.builder()
+            .headcount(3)
+            .salaried(3)
+            .totalPayroll(new BigDecimal("5645.00"))
+            .averageSalary(new BigDecimal("1881.67"))
+            .minSalary(BigDecimal.valueOf(1558))
+            .maxSalary(BigDecimal.valueOf(2100))
+            .build());
+
+        repository.delete(2L);
+        repository.save(Person.builder().id(1L).name("José da Silva").salary(new BigDecimal("1000.50")).build());
+        repository.save(Person.builder().id(4L).name("Ana Santos").build());
+
+        assertThat(repository.stats()).isEqualTo(PersonStats.builder()
+            .headcount(3)
+            .salaried(2)
+            .totalPayroll(new BigDecimal("2987.50"))
+            .averageSalary(new BigDecimal("1493.75"))
+            .minSalary(new BigDecimal("1000.50"))
+            .maxSalary(BigDecimal.valueOf(1987))
+            .build());
+    }
+
+    @Test
+    void shouldTotalMaximumSalariesWithoutOverflowing() {
+        var highest = new BigDecimal("999999999999999.99");
+
+        repository.save(Person.builder().id(4L).name("Richest").salary(highest).build());
+        repository.save(Person.builder().id(5L).name("Richer").salary(highest).build());
+
+        assertThat(repository.stats().getTotalPayroll()).isEqualByComparingTo(highest.multiply(BigDecimal.valueOf(2))
+            .add(new BigDecimal("5645")));
+
+        for (long id = 6; id <= 105; id++)
+            repository.save(Person.builder().id(id).name("Rich " + id).salary(highest).build());
+
+        assertThat(repository.stats().getTotalPayroll()).isEqualByComparingTo(highest.multiply(BigDecimal.valueOf(102))
+            .add(new BigDecimal("5645")));
+        assertThat(repository.stats().getAverageSalary()).isPositive();
+    }
+
+    @Test
+    void shouldCountHiresUpToDate() {
+        var random = new Random(11);
+
+        for (long id = 4; id <= 1_000; id++)
+            repository.save(Person.builder()
+                .id(id)
+                .name("Person " + id)
+                .hireDate(random.nextInt(10) == 0 ? null : LocalDate.of(1995, 1, 1).plusDays(random.nextInt(12_000)))
+                .build());
+        for (long id = 4; id <= 1_000; id += 3)
+            repository.delete(id);
+
+        for (int i = 0; i < 100; i++) {
+            LocalDate date = LocalDate.of(1990, 1, 1).plusDays(random.nextInt(16_000));
+
+            long expected = repository.findAll().stream()
+                .filter(person -> person.getHireDate() != null && !person.getHireDate().isAfter(date))
+                .count();
+
+            assertThat(repository.countHiredOnOrBefore(date)).as(date.toString()).isEqualTo(expected);
+        }
+        assertThat(repository.findEarliestHireDate()).contains(repository.findAll().stream()
+            .map(Person::getHireDate)
+            .filter(Objects::nonNull)
+            .min(Comparator.naturalOrder())
+            .orElseThrow());
+    }
+
+    @Test
+    void shouldFindByNameBetween() {
+        List<Person> people = repository.findByNameBetween("D", "N");
+
+        assertThat(people).extracting(Person::getName)
+            .containsExactly("José da Silva", "Maria Oliveira");
+    }
+
+    @Test
+    void shouldFindByNamePrefix() {
+        repository.save(Person.builder().id(4L).name("Maria Antonia").build());
+        repository.save(Person.builder().id(5L).name("Mario Lopes").build());
+
+        List<Person> people = repository.findByNamePrefix("Maria");
+
+        assertThat(people).extracting(Person::getName)
+            .containsExactly("Maria Antonia", "Maria Oliveira");
+    }
+
+    @Test
+    void shouldFindFirstPageOrderedByName() {
+        List<Person> page = repository.findPage(null, 2);
+
+        assertThat(page).extracting(Person::getName)
+            .containsExactly("Carlos Souza", "José da Silva");
+    }
+
+    @Test
+    void shouldFindPageAfterCursor() {
+        var cursor = PersonCursor.of(repository.findById(1L).get());
+
+        List<Person> page = repository.findPage(cursor, 10);
+
+        assertThat(page).extracting(Person::getName)
+            .containsExactly("Maria Oliveira");
+    }
+
+    @Test
+    void shouldKeepPageOrderWhenPersonIsRenamed() {
+        var maria = repository.findById(2L).get();
+
+        repository.save(maria.toBuilder().name("Ana Oliveira").build());
+
+        assertThat(repository.findPage(null, 10)).extracting(Person::getName)
+            .containsExactly("Ana Oliveira", "Carlos Souza", "José da Silva");
+    }
+
+    @Test
+    void shouldStreamAllPeopleOrderedByName() {
+        repository.delete(3L);
+
+        assertThat(repository.streamAll()).extracting(Person::getName)
+            .containsExactly("José da Silva", "Maria Oliveira");
+    }
+
+    @Test
+    void shouldFindPersonById() {
+        var person = repository.findById(1L);
+
+        assertThat(person).isPresent();
+        assertThat(person.get().getName()).isEqualTo("José da Silva");
+        assertThat(person.get().getBirthDate()).isEqualTo(LocalDate.of(2000, 4, 6));
+        assertThat(person.get().getHireDate()).isEqualTo(LocalDate.of(2020, 5, 10));
+        assertThat(person.get().getSalary()).isEqualByComparingTo("1558");
+    }
+
+    @Test
+    void shouldReturnEmptyWhenPersonNotFound() {
+        var person = repository.findById(99L);
+
+        assertThat(person).isEmpty();
+    }
+
+    @Test
+    void shouldSaveNewPerson() {
+        var newPerson = Person.builder()
+            .id(4L)
+            .name("Ana Santos")
+            .birthDate(LocalDate.of(1995, 7, 15))
+            .hireDate(LocalDate.of(2022, 1, 10))
+            .salary(new BigDecimal("2500"))
+            .build();
+
+        repository.save(newPerson);
+
+        var savedPerson = repository.findById(4L);
+        assertThat(savedPerson).isPresent();
+        assertThat(savedPerson.get()).usingRecursiveComparison().ignoringFields("version").isEqualTo(newPerson);
+    }
+
+    @Test
+    void shouldUpdateExistingPerson() {
+        var existingPerson = repository.findById(1L).get();
+        var updatedPerson = existingPerson.toBuilder()
+            .name("José da Silva Junior")
+            .salary(new BigDecimal("2000"))
+            .build();
+
+        repository.save(updatedPerson);
+
+        var result = repository.findById(1L);
+        assertThat(result).isPresent();
+        assertThat(result.get().getName()).isEqualTo("José da Silva Junior");
+        assertThat(result.get().getSalary()).isEqualByComparingTo("2000");
+    }
+
+    @Test
+    void shouldDeletePerson() {
+        repository.delete(1L);
+
+        var person = repository.findById(1L);
+        assertThat(person).isEmpty();
+    }
+
+    @Test
+    void shouldInsertOnlyWhenIdIsAbsent() {
+        var ana = Person.builder().id(4L).name("Ana Santos").build();
+
+        assertThat(repository.insertIfAbsent(ana)).isTrue();
+        assertThat(repository.insertIfAbsent(ana.toBuilder().name("Other").build())).isFalse();
+        assertThat(repository.findById(4L).get()).usingRecursiveComparison().ignoringFields("version").isEqualTo(ana);
+        assertThat(repository.findByNamePrefix("Other")).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceOnlyWhenIdIsPresent() {
+        var renamed = repository.findById(1L).get().toBuilder().name("Ana Silva").build();
+
+        assertThat(repository.replaceIfPresent(renamed)).isTrue();
+        assertThat(repository.replaceIfPresent(renamed.toBuilder().id(99L).build())).isFalse();
+        assertThat(repository.existsById(99L)).isFalse();
+        assertThat(repository.findAll()).extracting(Person::getName)
+            .containsExactly("Ana Silva", "Carlos Souza", "Maria Oliveira");
+    }
+
+    @Test
+    void shouldRemoveOnlyWhenIdIsPresent() {
+        assertThat(repository.removeIfPresent(1L)).isTrue();
+        assertThat(repository.removeIfPresent(1L)).isFalse();
+        assertThat(repository.findAll()).hasSize(2);
+    }
+
+    @Test
+    void shouldComputeFromCurrentPersonWhenPresent() {
+        var result = repository.computeIfPresent(1L, person ->
+            person.toBuilder().salary(person.getSalary().add(BigDecimal.ONE)).build());
+
+        assertThat(result).map(Person::getSalary).contains(BigDecimal.valueOf(1559));
+        assertThat(repository.computeIfPresent(99L, person -> person)).isEmpty();
+    }
+
+    @Test
+    void shouldApplyConcurrentSalaryIncrementsWithoutLosingUpdates() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> increments = IntStream.range(0, 8)
+                .mapToObj(thread -> (Callable<Void>) () -> {
+                    for (int i = 0; i < 1_000; i++)
+                        repository.computeIfPresent(1L, person ->
+                            person.toBuilder().salary(person.getSalary().add(BigDecimal.ONE)).build());
+                    return null;
+                })
+                .toList();
+
+            for (Future<Void> increment : executor.invokeAll(increments))
+                increment.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(repository.findById(1L).get().getSalary()).isEqualByComparingTo("9558");
+    }
+
+    @Test
+    void shouldBumpVersionsOnEveryWrite() {
+        long listed = repository.getVersion();
+        long before = repository.findById(1L).get().getVersion();
+        long untouched = repository.findById(2L).get().getVersion();
+
+        repository.computeIfPresent(1L, person -> person.toBuilder().name("José Souza").build());
+
+        assertThat(repository.findById(1L).get().getVersion()).isGreaterThan(before);
+        assertThat(repository.findById(2L).get().getVersion()).isEqualTo(untouched);
+        assertThat(repository.getVersion()).isGreaterThan(listed);
+
+        long afterUpdate = repository.getVersion();
+        repository.removeIfPresent(2L);
+        repository.removeIfPresent(2L);
+
+        assertThat(repository.getVersion()).isEqualTo(afterUpdate + 1);
+    }
+
+    @Test
+    void shouldPublishEveryWriteToTheChangeFeedInOrder() {
+        long since = repository.getLastChangeSequence();
+
+        repository.save(Person.builder().id(4L).name("Ana Santos").build());
+        repository.computeIfPresent(4L, person -> person.toBuilder().salary(new BigDecimal("3000")).build());
+        repository.removeIfPresent(4L);
+        repository.removeIfPresent(4L);
+
+        assertThat(repository.findChangesAfter(since, 10))
+            .extracting(PersonChange::getSequence, PersonChange::getType, PersonChange::getId)
+            .containsExactly(
+                tuple(since + 1, ChangeType.SAVED, 4L),
+                tuple(since + 2, ChangeType.SAVED, 4L),
+                tuple(since + 3, ChangeType.DELETED, 4L));
+        assertThat(repository.findChangesAfter(since + 1, 1)).singleElement()
+            .extracting(change -> change.getPerson().getSalary()).isEqualTo(new BigDecimal("3000"));
+        assertThat(repository.findChangesAfter(since + 3, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldCheckIfPersonExists() {
+        assertThat(repository.existsById(1L)).isTrue();
+        assertThat(repository.existsById(99L)).isFalse();
+    }
+
+    @Test
+    void shouldGetNextIdWhenRepositoryHasPeople() {
+        Long nextId = repository.getNextId();
+
+        assertThat(nextId).isEqualTo(4L);
+    }
+
+    @Test
+    void shouldNotReuseIdsOfDeletedPeople() {
+        var emptyRepository = createRepository();
+
+        emptyRepository.delete(1L);
+        emptyRepository.delete(2L);
+        emptyRepository.delete(3L);
+
+        Long nextId = emptyRepository.getNextId();
+
+        assertThat(nextId).isEqualTo(4L);
+    }
+
+    @Test
+    void shouldGetNextIdAfterHighestSavedId() {
+        repository.save(Person.builder().id(50L).name("Ana Santos").build());
+
+        assertThat(repository.getNextId()).isEqualTo(51L);
+        assertThat(repository.getNextId()).isEqualTo(52L);
+    }
+
+    @Test
+    void shouldNotLoseInsertsWhenIdsAreAllocatedConcurrently() throws Exception {
+        int threads = 8;
+        int insertsPerThread = 10_000;
+        Set<Long> allocatedIds = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Callable<Void>> inserts = IntStream.range(0, threads)
+                .mapToObj(thread -> (Callable<Void>) () -> {
+                    start.await();
+                    for (int i = 0; i < insertsPerThread; i++) {
+                        Long id = repository.getNextId();
+                        allocatedIds.add(id);
+                        repository.save(Person.builder().id(id).name("Person " + id).build());
+                    }
+                    return null;
+                })
+                .toList();
+
+            List<Future<Void>> results = inserts.stream().map(executor::submit).toList();
+            start.countDown();
+            for (Future<Void> result : results)
+                result.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(allocatedIds).hasSize(threads * insertsPerThread);
+        assertThat(repository.findAll()).hasSize(3 + threads * insertsPerThread);
+    }
+}
@@ -1,110 +1,139 @@
 package com.sccon.infrastructure.repository.person;
 
 import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import com.sccon.infrastructure.exception.ChangesExpiredException;
+import com.sccon.infrastructure.persistence.WriteAheadLog;
+import com.sccon.infrastructure.persistence.WriteAheadLog.FsyncPolicy;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-class PersonRepositoryTest {
+class PersonRepositoryTest extends PersonRepositoryContractTest {
 
-    private final PersonRepository repository = new PersonRepository();
-
-    @Test
-    void shouldFindAllPeople() {
-        List<Person> people = repository.findAll();
-
-        assertThat(people).hasSize(3);
-        assertThat(people.get(0).getName()).isEqualTo("José da Silva");
-        assertThat(people.get(1).getName()).isEqualTo("Maria Oliveira");
-        assertThat(people.get(2).getName()).isEqualTo("Carlos Souza");
+    @Override
+    protected PersonRepositoryPort createRepository() {
+        return new PersonRepository();
     }
 
     @Test
-    void shouldFindPersonById() {
-        var person = repository.findById(1L);
-
-        assertThat(person).isPresent();
-        assertThat(person.get().getName()).isEqualTo("José da Silva");
-        assertThat(person.get().getBirthDate()).isEqualTo(LocalDate.of(2000, 4, 6));
-        assertThat(person.get().getHireDate()).isEqualTo(LocalDate.of(2020, 5, 10));
-        assertThat(person.get().getSalary()).isEqualByComparingTo("1558");
-    }
+    void shouldExpireChangesOverwrittenByNewerOnes() {
+        var bounded = new PersonRepository(4);
 
-    @Test
-    void shouldReturnEmptyWhenPersonNotFound() {
-        var person = repository.findById(99L);
+        LongStream.rangeClosed(4, 8).forEach(id -> bounded.save(Person.builder().id(id).name("P" + id).build()));
 
-        assertThat(person).isEmpty();
+        assertThatThrownBy(() -> bounded.findChangesAfter(0, 10)).isInstanceOf(ChangesExpiredException.class);
+        assertThatThrownBy(() -> bounded.findChangesAfter(100, 10)).isInstanceOf(ChangesExpiredException.class);
+        assertThat(bounded.findChangesAfter(4, 10)).extracting(PersonChange::getId).containsExactly(5L, 6L, 7L, 8L);
     }
 
     @Test
-    void shouldSaveNewPerson() {
-        var newPerson = Person.builder()
+    void shouldRecoverPersistedWritesAfterRestart(@TempDir Path directory) throws Exception {
+        var ana = Person.builder()
             .id(4L)
             .name("Ana Santos")
             .birthDate(LocalDate.of(1995, 7, 15))
             .hireDate(LocalDate.of(2022, 1, 10))
-            .salary(new BigDecimal("2500"))
+            .salary(new BigDecimal("2500.50"))
             .build();
 
-        repository.save(newPerson);
-
-        var savedPerson = repository.findById(4L);
-        assertThat(savedPerson).isPresent();
-        assertThat(savedPerson.get()).usingRecursiveComparison().isEqualTo(newPerson);
+        try (var persistent = new PersonRepository(logSettings(directory))) {
+            persistent.insertIfAbsent(ana);
+            persistent.save(Person.builder().id(5L).name("Pedro").build());
+            persistent.replaceIfPresent(persistent.findById(2L).get().toBuilder().name("Maria Souza").build());
+            persistent.computeIfPresent(3L, person -> person.toBuilder().salary(new BigDecimal("3000")).build());
+            persistent.removeIfPresent(1L);
+            persistent.delete(5L);
+        }
+
+        try (var restarted = new PersonRepository(logSettings(directory))) {
+            assertThat(restarted.findAll()).extracting(Person::getName)
+                .containsExactly("Ana Santos", "Carlos Souza", "Maria Souza");
+            assertThat(restarted.findById(4L).get()).usingRecursiveComparison().ignoringFields("version").isEqualTo(ana);
+            assertThat(restarted.findById(3L).get().getSalary()).isEqualByComparingTo("3000");
+            assertThat(restarted.existsById(1L)).isFalse();
+            assertThat(restarted.getNextId()).isEqualTo(6L);
+        }
     }
 
     @Test
-    void shouldUpdateExistingPerson() {
-        var existingPerson = repository.findById(1L).get();
-        var updatedPerson = existingPerson.toBuilder()
-            .name("José da Silva Junior")
-            .salary(new BigDecimal("2000"))
-            .build();
-
-        repository.save(updatedPerson);
-
-        var result = repository.findById(1L);
-        assertThat(result).isPresent();
-        assertThat(result.get().getName()).isEqualTo("José da Silva Junior");
-        assertThat(result.get().getSalary()).isEqualByComparingTo("2000");
+    void shouldRejectUnstorableWritesWithoutTouchingTheStoreOrTheLog(@TempDir Path directory) throws Exception {
+
+        try (var persistent = new PersonRepository(logSettings(directory))) {
+            var stats = persistent.stats();
+            long lastId = persistent.getLastId();
+
+            assertThatThrownBy(() -> persistent.computeIfPresent(1L,
+                person -> person.toBuilder().salary(new BigDecimal("1e30")).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> persistent.insertIfAbsent(Person.builder().id(4L).name("Ana")
+                .hireDate(LocalDate.of(1850, 1, 1)).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> persistent.save(Person.builder().id(5L).name("Pedro")
+                .hireDate(LocalDate.of(2300, 1, 1)).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+            assertThat(persistent.stats()).isEqualTo(stats);
+            assertThat(persistent.findById(1L)).map(Person::getSalary).contains(BigDecimal.valueOf(1558));
+            assertThat(persistent.existsById(4L)).isFalse();
+            assertThat(persistent.getLastId()).isEqualTo(lastId);
+            assertThat(persistent.countHiredOnOrBefore(LocalDate.of(2199, 12, 31))).isEqualTo(3);
+        }
+
+        try (var restarted = new PersonRepository(logSettings(directory))) {
+            assertThat(restarted.findById(1L)).map(Person::getSalary).contains(BigDecimal.valueOf(1558));
+            assertThat(restarted.size()).isEqualTo(3);
+        }
     }
 
     @Test
-    void shouldDeletePerson() {
-        repository.delete(1L);
-
-        var person = repository.findById(1L);
-        assertThat(person).isEmpty();
+    void shouldRecoverFromSnapshotWithoutReseedingDeletedPeople(@TempDir Path directory) throws Exception {
+
+        try (var persistent = new PersonRepository(logSettings(directory))) {
+            persistent.delete(1L);
+            persistent.snapshot();
+            persistent.save(Person.builder().id(4L).name("Ana Santos").build());
+        }
+
+        try (var restarted = new PersonRepository(logSettings(directory))) {
+            assertThat(restarted.findAll()).extracting(Person::getName)
+                .containsExactly("Ana Santos", "Carlos Souza", "Maria Oliveira");
+        }
     }
 
     @Test
-    void shouldCheckIfPersonExists() {
-        assertThat(repository.existsById(1L)).isTrue();
-        assertThat(repository.existsById(99L)).isFalse();
+    void shouldNotReissueDeletedIdsAfterCompaction(@TempDir Path directory) throws Exception {
+
+        try (var persistent = new PersonRepository(logSettings(directory))) {
+            persistent.save(Person.builder().id(persistent.getNextId()).name("Ana Santos").build());
+            persistent.save(Person.builder().id(persistent.getNextId()).name("Pedro").build());
+            persistent.delete(5L);
+            persistent.delete(4L);
+            persistent.snapshot();
+        }
+
+        try (var restarted = new PersonRepository(logSettings(directory))) {
+            assertThat(restarted.getLastId()).isEqualTo(5L);
+            assertThat(restarted.getNextId()).isEqualTo(6L);
+        }
     }
 
-    @Test
-    void shouldGetNextIdWhenRepositoryHasPeople() {
-        Long nextId = repository.getNextId();
-
-        assertThat(nextId).isEqualTo(4L);
-    }
-
-    @Test
-    void shouldGetNextIdWhenRepositoryIsEmpty() {
-        PersonRepository emptyRepository = new PersonRepository();
-
-        emptyRepository.delete(1L);
-        emptyRepository.delete(2L);
-        emptyRepository.delete(3L);
-
-        Long nextId = emptyRepository.getNextId();
-
-        assertThat(nextId).isEqualTo(1L);
+    private static WriteAheadLog.Settings logSettings(Path directory) {
+        return WriteAheadLog.Settings.builder()
+            .directory(directory)
+            .name("people")
+            .fsyncPolicy(FsyncPolicy.ALWAYS)
+            .fsyncInterval(Duration.ZERO)
+            .snapshotInterval(Duration.ZERO)
+            .build();
     }
-}
\ No newline at end of file
+}
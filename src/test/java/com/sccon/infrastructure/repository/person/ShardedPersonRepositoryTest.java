@@ -0,0 +1,235 @@
+package com.sccon.infrastructure.repository.person;
+
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.enums.BatchStatus;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchItem;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.service.person.PersonRepositoryPort;
+import com.sccon.infrastructure.exception.ChangeFeedUnavailableException;
+import com.sccon.infrastructure.sharding.ConsistentHashRing;
+import com.sccon.infrastructure.sharding.ShardHandOff;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ShardedPersonRepositoryTest {
+
+    private static final Comparator<Person> BY_NAME = Comparator.comparing(Person::getName).thenComparing(Person::getId);
+
+    private final ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+    private final Map<String, PersonRepositoryPort> stores = Map.of(
+        "a", new PersonRepository(),
+        "b", new PersonRepository(),
+        "c", new PersonRepository());
+    private final ShardedPersonRepository repository = new ShardedPersonRepository("a", ring, stores);
+
+    @BeforeEach
+    void handOffSeededPeople() {
+        for (String node : ring.getNodes())
+            new ShardedPersonRepository(node, ring, stores).handOffForeignPeople();
+    }
+
+    @AfterEach
+    void closeRepository() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    void shouldKeepEveryPersonOnlyOnTheNodeThatOwnsIt() {
+        assertThat(stores.values().stream().mapToInt(PersonRepositoryPort::size).sum()).isEqualTo(3);
+        stores.forEach((node, store) ->
+            assertThat(store.findAll()).allMatch(person -> ring.ownerOf(person.getId()).equals(node)));
+
+        assertThat(repository.findAll())
+            .extracting(Person::getId, Person::getName)
+            .containsExactly(
+                tuple(3L, "Carlos Souza"),
+                tuple(1L, "José da Silva"),
+                tuple(2L, "Maria Oliveira"));
+    }
+
+    @Test
+    void shouldCountPeopleOnEveryShardButRefuseTheChangeFeed() {
+        createPeople(4, 300);
+
+        assertThat(repository.size()).isEqualTo(300);
+        assertThatThrownBy(repository::getLastChangeSequence).isInstanceOf(ChangeFeedUnavailableException.class);
+        assertThatThrownBy(() -> repository.findChangesAfter(0, 10)).isInstanceOf(ChangeFeedUnavailableException.class);
+    }
+
+    @Test
+    void shouldNotListPeopleTwiceWhileTheyAreHandedOver() {
+        stores.get("b").save(stores.get(ring.ownerOf(1L)).findById(1L).orElseThrow());
+        stores.get("c").save(stores.get(ring.ownerOf(1L)).findById(1L).orElseThrow());
+
+        assertThat(repository.findAll()).extracting(Person::getId).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void shouldKeepTheLocalCopyWhenTheOwnerAlreadyHoldsTheId() {
+        long id = LongStream.iterate(100, next -> next + 1).filter(next -> ring.ownerOf(next).equals("b")).findFirst()
+            .orElseThrow();
+        stores.get("b").save(person(id));
+        stores.get("a").save(person(id).toBuilder().name("Local copy").build());
+
+        ShardHandOff handOff = repository.handOffForeignPeople();
+
+        assertThat(handOff.getMoved()).isZero();
+        assertThat(handOff.getConflicts()).containsExactly(id);
+        assertThat(stores.get("a").findById(id)).map(Person::getName).contains("Local copy");
+        assertThat(stores.get("b").findById(id)).map(Person::getName).contains("Person %03d".formatted(id));
+    }
+
+    @Test
+    void shouldMergeShardsByNameWhenListingAndPaging() {
+        createPeople(4, 300);
+
+        assertThat(stores.values()).allSatisfy(store -> assertThat(store.size()).isGreaterThan(50));
+
+        List<Person> everyone = stores.values().stream()
+            .flatMap(store -> store.findAll().stream())
+            .sorted(BY_NAME)
+            .toList();
+
+        assertThat(repository.findAll()).isEqualTo(everyone);
+
+        try (Stream<Person> people = repository.streamAll()) {
+            assertThat(people.toList()).isEqualTo(everyone);
+        }
+
+        List<Person> paged = new ArrayList<>();
+        PersonCursor cursor = null;
+        List<Person> page;
+        do {
+            page = repository.findPage(cursor, 17);
+            paged.addAll(page);
+            cursor = page.isEmpty() ? null : PersonCursor.of(page.get(page.size() - 1));
+        } while (page.size() == 17);
+
+        assertThat(paged).isEqualTo(everyone);
+    }
+
+    @Test
+    void shouldMergeQueriesAndNameRangesAcrossShards() {
+        createPeople(4, 300);
+        var query = PersonQuery.builder()
+            .salaryGte(BigDecimal.valueOf(2000))
+            .salaryLte(BigDecimal.valueOf(2500))
+            .build();
+
+        List<Person> everyone = repository.findAll();
+
+        assertThat(repository.findPage(query, null, 1000)).isEqualTo(everyone.stream().filter(query::matches).toList());
+        assertThat(repository.findByNamePrefix("Person 01"))
+            .isEqualTo(everyone.stream().filter(person -> person.getName().startsWith("Person 01")).toList());
+        assertThat(repository.findByNameBetween("Person 100", "Person 200"))
+            .hasSize(100)
+            .isSortedAccordingTo(BY_NAME);
+    }
+
+    @Test
+    void shouldRouteSingleIdOperationsToTheNodeThatOwnsThem() {
+        long id = LongStream.iterate(100, next -> next + 1).filter(next -> ring.ownerOf(next).equals("b")).findFirst()
+            .orElseThrow();
+
+        assertThat(repository.insertIfAbsent(person(id))).isTrue();
+        assertThat(stores.get("b").existsById(id)).isTrue();
+        assertThat(stores.get("a").existsById(id)).isFalse();
+
+        repository.computeIfPresent(id, person -> person.toBuilder().name("Renamed").build());
+        assertThat(repository.findById(id)).map(Person::getName).contains("Renamed");
+
+        assertThat(repository.removeIfPresent(id)).isTrue();
+        assertThat(stores.get("b").existsById(id)).isFalse();
+    }
+
+    @Test
+    void shouldOnlyAllocateIdsOwnedByTheLocalNode() {
+        List<Long> ids = Stream.generate(repository::getNextId).limit(50).toList();
+
+        assertThat(ids).doesNotHaveDuplicates().allMatch(repository::owns);
+    }
+
+    @Test
+    void shouldNotRepeatTheClusterVersionAfterARestart() {
+        var restarted = new ShardedPersonRepository("a", ring, stores);
+
+        assertThat(restarted.getVersion()).isNotEqualTo(repository.getVersion());
+    }
+
+    @Test
+    void shouldApplyBatchesOnEveryShardKeepingTheRequestOrder() {
+        List<PersonBatchItem> items = new ArrayList<>();
+        LongStream.rangeClosed(100, 130).forEach(id -> items.add(item(BatchOperation.CREATE, person(id))));
+        items.add(item(BatchOperation.CREATE, person(1)));
+        items.add(item(BatchOperation.UPDATE, person(999)));
+        items.add(item(BatchOperation.DELETE, person(100)));
+
+        List<PersonBatchResult> results = repository.applyAll(items);
+
+        assertThat(results).extracting(PersonBatchResult::getId)
+            .isEqualTo(items.stream().map(item -> item.getPerson().getId()).toList());
+        assertThat(results.subList(0, 31)).extracting(PersonBatchResult::getStatus).containsOnly(BatchStatus.CREATED);
+        assertThat(results.subList(31, 34)).extracting(PersonBatchResult::getStatus)
+            .containsExactly(BatchStatus.CONFLICT, BatchStatus.NOT_FOUND, BatchStatus.DELETED);
+        assertThat(repository.existsById(100L)).isFalse();
+    }
+
+    @Test
+    void shouldAggregateStatsLikeASingleStore() {
+        createPeople(4, 300);
+        var single = new PersonRepository();
+        single.applyAll(LongStream.rangeClosed(4, 300).mapToObj(id -> item(BatchOperation.CREATE, person(id))).toList());
+
+        var merged = repository.stats();
+        var expected = single.stats();
+
+        assertThat(merged.getHeadcount()).isEqualTo(expected.getHeadcount());
+        assertThat(merged.getSalaried()).isEqualTo(expected.getSalaried());
+        assertThat(merged.getTotalPayroll()).isEqualByComparingTo(expected.getTotalPayroll());
+        assertThat(merged.getAverageSalary()).isEqualByComparingTo(expected.getAverageSalary());
+        assertThat(merged.getMinSalary()).isEqualByComparingTo(expected.getMinSalary());
+        assertThat(merged.getMaxSalary()).isEqualByComparingTo(expected.getMaxSalary());
+        assertThat(repository.countHiredOnOrBefore(LocalDate.of(2012, 6, 30)))
+            .isEqualTo(single.countHiredOnOrBefore(LocalDate.of(2012, 6, 30)));
+        assertThat(repository.findEarliestHireDate()).isEqualTo(single.findEarliestHireDate());
+    }
+
+    private void createPeople(long from, long to) {
+        repository.applyAll(LongStream.rangeClosed(from, to).mapToObj(id -> item(BatchOperation.CREATE, person(id))).toList());
+    }
+
+    private static PersonBatchItem item(BatchOperation operation, Person person) {
+        return PersonBatchItem.builder()
+            .operation(operation)
+            .person(person)
+            .build();
+    }
+
+    private static Person person(long id) {
+        return Person.builder()
+            .id(id)
+            .name("Person %03d".formatted(id))
+            .birthDate(LocalDate.of(1980, 1, 1).plusDays(id * 37 % 9000))
+            .hireDate(LocalDate.of(2005, 1, 1).plusDays(id * 53 % 6000))
+            .salary(BigDecimal.valueOf(1000 + id * 7 % 2500, 0))
+            .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.sccon.infrastructure.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int IDS = 100_000;
+
+    @Test
+    void shouldPlaceIdsTheSameWayWhateverTheNodeOrder() {
+        var ring = new ConsistentHashRing(List.of("a", "b", "c"), 256);
+        var shuffled = new ConsistentHashRing(List.of("c", "a", "b"), 256);
+
+        assertThat(LongStream.rangeClosed(1, IDS)).allMatch(id -> ring.ownerOf(id).equals(shuffled.ownerOf(id)));
+    }
+
+    @Test
+    void shouldSpreadIdsEvenlyAcrossNodes() {
+        var ring = new ConsistentHashRing(List.of("a", "b", "c"), 256);
+
+        Map<String, Long> owned = LongStream.rangeClosed(1, IDS).boxed()
+            .collect(Collectors.groupingBy(ring::ownerOf, Collectors.counting()));
+
+        assertThat(owned).containsOnlyKeys("a", "b", "c");
+        assertThat(owned.values()).allSatisfy(count -> assertThat(count).isBetween(IDS * 27L / 100, IDS * 40L / 100));
+    }
+
+    @Test
+    void shouldOnlyMoveIdsToTheNodeThatJoins() {
+        var before = new ConsistentHashRing(List.of("a", "b", "c"), 256);
+        var after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 256);
+
+        Map<Boolean, List<Long>> moved = LongStream.rangeClosed(1, IDS).boxed()
+            .collect(Collectors.partitioningBy(id -> !before.ownerOf(id).equals(after.ownerOf(id))));
+
+        assertThat(moved.get(true)).allMatch(id -> after.ownerOf(id).equals("d"));
+        assertThat(moved.get(true).size()).isBetween(IDS * 18 / 100, IDS * 32 / 100);
+    }
+
+    @Test
+    void shouldSendEveryIdToTheOnlyNode() {
+        var ring = new ConsistentHashRing(List.of("solo"), 1);
+
+        assertThat(LongStream.of(Long.MIN_VALUE, -1, 0, 1, Long.MAX_VALUE).mapToObj(ring::ownerOf))
+            .containsOnly("solo");
+    }
+
+    @Test
+    void shouldRejectEmptyRings() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 256))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of("a"), 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,331 @@
+package com.sccon.infrastructure.sharding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sccon.ScconPeopleManagementApplication;
+import com.sccon.domain.model.Person;
+import com.sccon.infrastructure.repository.person.RemotePersonRepository;
+import com.sccon.infrastructure.repository.person.ShardedPersonRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedClusterTest {
+
+    private static final List<String> NODES = List.of("a", "b", "c");
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>; rel=\"next\"");
+    private static final String SECRET = "cluster-test-secret";
+
+    private static final Map<String, String> urls = new LinkedHashMap<>();
+    private static final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private static final HttpClient http = HttpClient.newHttpClient();
+    private static final ObjectMapper json = new ObjectMapper();
+    private static final ConsistentHashRing ring = new ConsistentHashRing(NODES, 256);
+
+    @BeforeAll
+    static void startCluster() throws Exception {
+        for (String node : NODES)
+            urls.put(node, "http://localhost:" + freePort());
+
+        for (String node : NODES) {
+            List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=" + URI.create(urls.get(node)).getPort(),
+                "--people.sharding.enabled=true",
+                "--people.sharding.node=" + node,
+                "--people.sharding.rebalance-retry=100ms",
+                "--people.sharding.secret=" + SECRET,
+                "--people.sharding.routing=" + (node.equals("c") ? "redirect" : "forward")));
+            urls.forEach((name, url) -> arguments.add("--people.sharding.nodes." + name + "=" + url));
+
+            contexts.add(new SpringApplicationBuilder(ScconPeopleManagementApplication.class)
+                .run(arguments.toArray(String[]::new)));
+        }
+
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (localHeadcount() != 3 && System.nanoTime() < deadline)
+            Thread.sleep(100);
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void shouldServeTheSameMergedListingFromEveryNode() throws Exception {
+        List<String> everyone = names(get("a", "/person").body());
+
+        assertThat(everyone).isSorted().hasSize((int) localHeadcount())
+            .contains("Carlos Souza", "José da Silva", "Maria Oliveira");
+
+        for (String node : NODES)
+            assertThat(names(get(node, "/person").body())).isEqualTo(everyone);
+    }
+
+    @Test
+    void shouldRouteReadsAndWritesToTheNodeThatOwnsTheId() throws Exception {
+        String batch = LongStream.rangeClosed(1000, 1029)
+            .mapToObj(id -> """
+                {"op": "create", "id": %d, "name": "Clustered %d", "birthDay": "1990-01-01", "hireDate": "2020-01-01", "salary": 1000}"""
+                .formatted(id, id))
+            .reduce((first, second) -> first + "," + second)
+            .map(items -> "[" + items + "]")
+            .orElseThrow();
+
+        var created = send(HttpRequest.newBuilder().uri(URI.create(urls.get("a") + "/person/batch"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(batch)));
+        assertThat(json.readTree(created.body()).findValuesAsText("status")).hasSize(30).containsOnly("created");
+
+        for (long id = 1000; id < 1030; id++) {
+            String owner = ring.ownerOf(id);
+            assertThat(internalPerson(owner, id).statusCode()).isEqualTo(200);
+
+            for (String node : List.of("a", "b"))
+                assertThat(json.readTree(get(node, "/person/" + id).body()).get("name").asText())
+                    .isEqualTo("Clustered " + id);
+        }
+
+        long remote = LongStream.range(1000, 1030).filter(id -> !ring.ownerOf(id).equals("a")).findFirst().orElseThrow();
+        var patched = send(HttpRequest.newBuilder()
+            .uri(URI.create(urls.get("a") + "/person/" + remote + "?salary=4321"))
+            .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+        assertThat(patched.statusCode()).isEqualTo(200);
+        assertThat(json.readTree(get("b", "/person/" + remote).body()).get("salary").decimalValue())
+            .isEqualByComparingTo("4321");
+
+        var deleted = send(HttpRequest.newBuilder().uri(URI.create(urls.get("b") + "/person/" + remote)).DELETE());
+        assertThat(deleted.statusCode()).isEqualTo(204);
+        assertThat(internalPerson(ring.ownerOf(remote), remote).statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void shouldRedirectToTheOwnerWhenConfiguredTo() throws Exception {
+        long foreign = LongStream.iterate(1, id -> id + 1).filter(id -> !ring.ownerOf(id).equals("c")).findFirst()
+            .orElseThrow();
+
+        var redirected = get("c", "/person/" + foreign + "/age?output=years");
+
+        assertThat(redirected.statusCode()).isEqualTo(307);
+        assertThat(redirected.headers().firstValue("Location"))
+            .contains(urls.get(ring.ownerOf(foreign)) + "/person/" + foreign + "/age?output=years");
+    }
+
+    @Test
+    void shouldRejectForwardedRequestsForIdsTheNodeDoesNotOwn() throws Exception {
+        long foreign = LongStream.iterate(1, id -> id + 1).filter(id -> !ring.ownerOf(id).equals("a")).findFirst()
+            .orElseThrow();
+
+        var misdirected = send(HttpRequest.newBuilder().uri(URI.create(urls.get("a") + "/person/" + foreign))
+            .header(ShardRoutingFilter.FORWARDED_BY, "b"));
+
+        assertThat(misdirected.statusCode()).isEqualTo(421);
+    }
+
+    @Test
+    void shouldOnlyServeThePeerApiToNodesThatKnowTheSecret() throws Exception {
+        assertThat(get("a", "/internal/shard/stats").statusCode()).isEqualTo(403);
+
+        var wrong = send(HttpRequest.newBuilder().uri(URI.create(urls.get("a") + "/internal/shard/stats"))
+            .header(ShardSecretFilter.SECRET_HEADER, SECRET + "!"));
+        assertThat(wrong.statusCode()).isEqualTo(403);
+
+        assertThat(send(internal("a", "/stats")).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldRejectInvalidPeopleSentThroughThePeerApi() throws Exception {
+        long id = LongStream.iterate(2000, next -> next + 1).filter(next -> ring.ownerOf(next).equals("b")).findFirst()
+            .orElseThrow();
+
+        var put = send(internal("b", "/people/" + id)
+            .header("Content-Type", "application/json")
+            .PUT(HttpRequest.BodyPublishers.ofString("""
+                {"id": %d, "name": " ", "birthDate": "1990-01-01", "hireDate": "2020-01-01", "salary": 1000}"""
+                .formatted(id))));
+        assertThat(put.statusCode()).isEqualTo(400);
+
+        var batch = send(internal("b", "/batch")
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("""
+                [{"op": "CREATE", "person": {"id": %d, "name": "Too rich", "birthDate": "1990-01-01",
+                  "hireDate": "2020-01-01", "salary": 1e20}},
+                 {"op": "CREATE", "person": {"id": %d, "name": "Hired too late", "birthDate": "1990-01-01",
+                  "hireDate": "2300-01-01", "salary": 1000}},
+                 {"op": "DELETE", "person": {"id": %d}}]""".formatted(id, id, id))));
+        assertThat(json.readTree(batch.body()).findValuesAsText("status"))
+            .containsExactly("INVALID", "INVALID", "NOT_FOUND");
+        assertThat(internalPerson("b", id).statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void shouldUpdateRemotePeopleInPlaceOnlyFromTheVersionThatWasRead() throws Exception {
+        long id = LongStream.iterate(3000, next -> next + 1).filter(next -> ring.ownerOf(next).equals("b")).findFirst()
+            .orElseThrow();
+        var remote = new RemotePersonRepository("b", URI.create(urls.get("b")), Duration.ofSeconds(5), SECRET,
+            Duration.ofMinutes(1));
+
+        assertThat(remote.insertIfAbsent(Person.builder()
+            .id(id)
+            .name("Remote")
+            .birthDate(LocalDate.of(1990, 1, 1))
+            .hireDate(LocalDate.of(2020, 1, 1))
+            .salary(BigDecimal.valueOf(1000))
+            .build())).isTrue();
+        long version = remote.getVersion();
+
+        AtomicInteger attempts = new AtomicInteger();
+        Optional<Person> raised = remote.computeIfPresent(id, person -> {
+            if (attempts.getAndIncrement() == 0)
+                remote.save(person.toBuilder().name("Renamed meanwhile").build());
+
+            return person.toBuilder().salary(person.getSalary().add(BigDecimal.ONE)).build();
+        });
+
+        assertThat(attempts).hasValue(2);
+        assertThat(raised).map(Person::getName).contains("Renamed meanwhile");
+        assertThat(remote.findById(id).orElseThrow().getSalary()).isEqualByComparingTo("1001");
+        assertThat(remote.getVersion()).isNotEqualTo(version);
+        assertThat(remote.computeIfPresent(id + 1_000_000, person -> person)).isEmpty();
+    }
+
+    @Test
+    void shouldServeEachShardsChangeFeedToPeersOnly() throws Exception {
+        long id = LongStream.iterate(4000, next -> next + 1).filter(next -> ring.ownerOf(next).equals("b")).findFirst()
+            .orElseThrow();
+        var remote = new RemotePersonRepository("b", URI.create(urls.get("b")), Duration.ofSeconds(5), SECRET,
+            Duration.ofMinutes(1));
+
+        long since = remote.getLastChangeSequence();
+        remote.save(Person.builder()
+            .id(id)
+            .name("Followed")
+            .birthDate(LocalDate.of(1990, 1, 1))
+            .hireDate(LocalDate.of(2020, 1, 1))
+            .salary(BigDecimal.valueOf(1000))
+            .build());
+
+        assertThat(remote.findChangesAfter(since, 10)).singleElement()
+            .satisfies(change -> assertThat(change.getPerson().getName()).isEqualTo("Followed"));
+        assertThat(remote.getNextId()).isEqualTo(remote.getLastId());
+
+        for (String accept : List.of("application/x-ndjson", "text/event-stream"))
+            assertThat(send(HttpRequest.newBuilder().uri(URI.create(urls.get("a") + "/person/changes"))
+                .header("Accept", accept)).statusCode()).isEqualTo(501);
+    }
+
+    @Test
+    void shouldReadNameRangesFromAPeerThatStoresNamelessPeople() {
+        long id = LongStream.iterate(5000, next -> next + 1).filter(next -> ring.ownerOf(next).equals("b")).findFirst()
+            .orElseThrow();
+        var local = contexts.get(NODES.indexOf("b")).getBean(ShardedPersonRepository.class).getLocal();
+        var remote = new RemotePersonRepository("b", URI.create(urls.get("b")), Duration.ofSeconds(5), SECRET,
+            Duration.ofMinutes(1));
+
+        local.save(Person.builder().id(id).build());
+        try {
+            assertThat(remote.findByNameBetween(null, "Z")).isEqualTo(local.findByNameBetween(null, "Z"))
+                .extracting(Person::getId).startsWith(id);
+            assertThat(remote.findByNameBetween(null, null)).isEqualTo(local.findByNameBetween(null, null));
+        } finally {
+            local.delete(id);
+        }
+    }
+
+    @Test
+    void shouldPageAndAggregateAcrossShards() throws Exception {
+        for (String node : NODES)
+            for (int i = 0; i < 10; i++)
+                assertThat(send(HttpRequest.newBuilder().uri(URI.create(urls.get(node) + "/person"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"name": "Paged %s%d", "birthDay": "1991-02-03", "hireDate": "2019-04-05", "salary": 2000}"""
+                        .formatted(node, i)))).statusCode()).isEqualTo(201);
+
+        List<String> everyone = names(get("b", "/person").body());
+        long headcount = json.readTree(get("a", "/person/stats").body()).get("headcount").asLong();
+
+        List<String> paged = new ArrayList<>();
+        String next = urls.get("b") + "/person?limit=7";
+        while (next != null) {
+            var page = http.send(HttpRequest.newBuilder().uri(URI.create(next)).build(), HttpResponse.BodyHandlers.ofString());
+            paged.addAll(names(page.body()));
+
+            Matcher link = NEXT_LINK.matcher(page.headers().firstValue("Link").orElse(""));
+            next = link.find() ? link.group(1) : null;
+        }
+
+        assertThat(everyone).isSorted().hasSize((int) headcount).containsAll(List.of("Paged a0", "Paged b9", "Paged c5"));
+        assertThat(paged).isEqualTo(everyone);
+    }
+
+    private static long localHeadcount() throws InterruptedException {
+
+        long headcount = 0;
+        for (String node : NODES) {
+            try {
+                headcount += json.readTree(send(internal(node, "/stats")).body()).get("headcount").asLong();
+            } catch (IOException ex) {
+                return -1;
+            }
+        }
+
+        return headcount;
+    }
+
+    private static HttpResponse<String> internalPerson(String node, long id) throws IOException, InterruptedException {
+        return send(internal(node, "/people/" + id));
+    }
+
+    private static HttpRequest.Builder internal(String node, String path) {
+        return HttpRequest.newBuilder()
+            .uri(URI.create(urls.get(node) + "/internal/shard" + path))
+            .header(ShardSecretFilter.SECRET_HEADER, SECRET);
+    }
+
+    private static HttpResponse<String> get(String node, String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder().uri(URI.create(urls.get(node) + path)));
+    }
+
+    private static HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static List<String> names(String body) throws IOException {
+        JsonNode people = json.readTree(body);
+
+        return StreamSupport.stream(people.spliterator(), false)
+            .map(person -> person.get("name").asText())
+            .toList();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
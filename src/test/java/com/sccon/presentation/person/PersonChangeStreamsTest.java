@@ -0,0 +1,117 @@
+package com.sccon.presentation.person;
+
+import com.sccon.domain.enums.ChangeType;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.service.person.PersonServicePort;
+import com.sccon.infrastructure.exception.ChangesExpiredException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PersonChangeStreamsTest {
+
+    private final PersonServicePort service = mock(PersonServicePort.class);
+    private final PersonChangeStreams streams = new PersonChangeStreams(service, Duration.ofMillis(10),
+        Duration.ofMinutes(1), 4);
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @AfterEach
+    void stopStreams() {
+        unblock.countDown();
+        streams.destroy();
+    }
+
+    @Test
+    void shouldKeepServingSubscribersWhileAnotherOneIsStuck() throws Exception {
+
+        when(service.changesAfter(eq(0L), anyInt())).thenReturn(List.of(change(1)));
+        when(service.changesAfter(eq(1L), anyInt())).thenReturn(List.of());
+
+        var stuck = new RecordingEmitter(unblock);
+        var healthy = new RecordingEmitter(null);
+        streams.subscribe(stuck, 0L);
+        streams.subscribe(healthy, 0L);
+
+        assertThat(healthy.sent.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(stuck.events).isEmpty();
+    }
+
+    @Test
+    void shouldBufferOnlyWhatFitsAndResetASubscriberThatFellOffTheFeed() throws Exception {
+
+        when(service.changesAfter(eq(0L), anyInt())).thenReturn(List.of(change(1), change(2), change(3), change(4)));
+        when(service.changesAfter(eq(4L), anyInt())).thenThrow(new ChangesExpiredException("Changes after 4 expired"));
+
+        var slow = new RecordingEmitter(unblock);
+        streams.subscribe(slow, 0L);
+
+        verify(service, timeout(2000)).changesAfter(eq(4L), anyInt());
+        assertThat(slow.events).isEmpty();
+
+        unblock.countDown();
+
+        assertThat(slow.completed.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(slow.events).hasSize(5);
+        verify(service, never()).changesAfter(anyLong(), intThat(limit -> limit > 4));
+    }
+
+    private static PersonChange change(long sequence) {
+        return PersonChange.builder()
+            .sequence(sequence)
+            .type(ChangeType.SAVED)
+            .id(sequence)
+            .person(Person.builder().id(sequence).name("Person " + sequence).build())
+            .build();
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch gate;
+        private final CountDownLatch sent = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final List<Set<DataWithMediaType>> events = new CopyOnWriteArrayList<>();
+
+        private RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder event) throws IOException {
+            try {
+                if (gate != null)
+                    gate.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+
+            events.add(event.build());
+            sent.countDown();
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
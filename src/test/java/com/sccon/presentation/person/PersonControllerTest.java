@@ -1,46 +1,91 @@
 package com.sccon.presentation.person;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sccon.domain.enums.BatchOperation;
+import com.sccon.domain.enums.BatchStatus;
+import com.sccon.domain.enums.ChangeType;
 import com.sccon.domain.enums.PeriodOutput;
 import com.sccon.domain.enums.SalaryOutput;
+import com.sccon.domain.model.AgeBucket;
 import com.sccon.domain.model.Person;
+import com.sccon.domain.model.PersonBatchResult;
+import com.sccon.domain.model.PersonChange;
+import com.sccon.domain.model.PersonCursor;
+import com.sccon.domain.model.PersonQuery;
+import com.sccon.domain.model.PersonStats;
+import com.sccon.domain.model.SalaryProjection;
+import com.sccon.domain.model.TenureBucket;
 import com.sccon.domain.service.person.PersonServicePort;
+import com.sccon.infrastructure.configuration.WireFormatConfig;
+import com.sccon.infrastructure.exception.ChangesExpiredException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PersonController.class)
+@Import({PersonChangeStreams.class, PersonResponseCache.class, WireFormatConfig.class})
 class PersonControllerTest {
 
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
     @Autowired
     private MockMvc mockMvc;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PersonResponseCache responseCache;
+
     @MockBean
     private PersonServicePort service;
 
@@ -69,6 +114,402 @@ class PersonControllerTest {
             .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    void shouldNotListPeopleWhenListingVersionIsUnchanged() throws Exception {
+
+        when(service.currentVersion()).thenReturn(42L);
+
+        mockMvc.perform(get("/person"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag(42)));
+
+        mockMvc.perform(get("/person").header(HttpHeaders.IF_NONE_MATCH, etag(41) + ", " + etag(42)))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag(42)))
+            .andExpect(content().string(""));
+
+        verify(service, times(1)).listAll();
+    }
+
+    @Test
+    void shouldListFirstPageWithNextLink() throws Exception {
+
+        var jose = Person.builder().id(1L).name("José").build();
+        var maria = Person.builder().id(2L).name("Maria").build();
+
+        when(service.listPage(null, 2)).thenReturn(List.of(jose, maria));
+
+        mockMvc.perform(get("/person")
+                .param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].name").value("José"))
+            .andExpect(header().string(HttpHeaders.LINK,
+                containsString("after=" + StringToPersonCursorConverter.encode(jose))));
+    }
+
+    @Test
+    void shouldListPageAfterCursorWithoutNextLink() throws Exception {
+
+        var jose = Person.builder().id(1L).name("José").build();
+        var maria = Person.builder().id(2L).name("Maria").build();
+
+        when(service.listPage(PersonCursor.of(jose), 11)).thenReturn(List.of(maria));
+
+        mockMvc.perform(get("/person")
+                .param("limit", "10")
+                .param("after", StringToPersonCursorConverter.encode(jose)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].name").value("Maria"))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() throws Exception {
+
+        mockMvc.perform(get("/person")
+                .param("limit", "10")
+                .param("after", "not-a-cursor"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status").value(400))
+            .andExpect(jsonPath("$.message").value("Invalid value for after. Use the cursor returned in the Link header"))
+            .andExpect(jsonPath("$.path").value("/person"));
+
+        verify(service, never()).listPage(any(), anyInt());
+    }
+
+    @Test
+    void shouldRejectPageSizeOutOfRange() throws Exception {
+
+        mockMvc.perform(get("/person")
+                .param("limit", "0"))
+            .andExpect(status().isBadRequest());
+
+        verify(service, never()).listPage(any(), anyInt());
+    }
+
+    @Test
+    void shouldStreamPeopleAsNdjson() throws Exception {
+
+        when(service.streamAll()).thenReturn(Stream.of(
+            Person.builder().id(1L).name("Fernando").build(),
+            Person.builder().id(2L).name("Maria").build()));
+
+        MvcResult result = mockMvc.perform(get("/person")
+                .accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string("{\"id\":1,\"name\":\"Fernando\"}\n{\"id\":2,\"name\":\"Maria\"}"));
+    }
+
+    @Test
+    void shouldReturnChangesAfterSequenceAsNdjson() throws Exception {
+
+        var saved = PersonChange.builder()
+            .sequence(5L)
+            .type(ChangeType.SAVED)
+            .id(1L)
+            .person(Person.builder().id(1L).name("Ana").build())
+            .build();
+        var deleted = PersonChange.builder().sequence(6L).type(ChangeType.DELETED).id(2L).build();
+
+        when(service.changesAfter(4L, 1000)).thenReturn(List.of(saved, deleted));
+
+        MvcResult result = mockMvc.perform(get("/person/changes")
+                .param("since", "4")
+                .accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(
+                "{\"sequence\":5,\"type\":\"saved\",\"id\":1,\"person\":{\"id\":1,\"name\":\"Ana\"}}\n"
+                    + "{\"sequence\":6,\"type\":\"deleted\",\"id\":2}"));
+    }
+
+    @Test
+    void shouldReturnGoneWhenChangesAreNoLongerRetained() throws Exception {
+
+        when(service.changesAfter(0L, 1000)).thenThrow(new ChangesExpiredException("expired"));
+
+        mockMvc.perform(get("/person/changes").accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(status().isGone());
+    }
+
+    @Test
+    void shouldTailChangesAsServerSentEvents() throws Exception {
+
+        var saved = PersonChange.builder()
+            .sequence(8L)
+            .type(ChangeType.SAVED)
+            .id(1L)
+            .person(Person.builder().id(1L).name("José").build())
+            .build();
+
+        when(service.changesAfter(7L, 1000)).thenReturn(List.of(saved));
+        when(service.changesAfter(8L, 1000)).thenReturn(List.of());
+
+        MvcResult result = mockMvc.perform(get("/person/changes")
+                .header("Last-Event-ID", "7")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        verify(service, timeout(2000)).changesAfter(8L, 1000);
+
+        assertThat(result.getResponse().getContentAsString(StandardCharsets.UTF_8))
+            .contains("id:8\nevent:saved\ndata:{\"sequence\":8,\"type\":\"saved\",\"id\":1,");
+
+        result.getRequest().getAsyncContext().complete();
+        Thread.sleep(300);
+        clearInvocations(service);
+
+        verify(service, after(300).never()).changesAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldStreamSalaryProjectionsForRequestedIds() throws Exception {
+
+        when(service.projectSalaries(List.of(1L, 2L))).thenReturn(Stream.of(
+            SalaryProjection.builder().id(1L).full(new BigDecimal("5460.20")).minimumWages(new BigDecimal("4.19")).build(),
+            SalaryProjection.builder().id(2L).full(new BigDecimal("2604.00")).minimumWages(new BigDecimal("2.00")).build()));
+
+        MvcResult result = mockMvc.perform(post("/person/salaries")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .content("{\"ids\":[1,2]}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string("{\"id\":1,\"full\":5460.20,\"min\":4.19}\n"
+                + "{\"id\":2,\"full\":2604.00,\"min\":2.00}"));
+    }
+
+    @Test
+    void shouldStreamSalaryProjectionsForEveryone() throws Exception {
+
+        when(service.projectAllSalaries()).thenReturn(Stream.of(
+            SalaryProjection.builder().id(3L).full(new BigDecimal("1302.00")).minimumWages(new BigDecimal("1.00")).build()));
+
+        MvcResult result = mockMvc.perform(post("/person/salaries")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"all\":true}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().string("{\"id\":3,\"full\":1302.00,\"min\":1.00}"));
+
+        verify(service, never()).projectSalaries(any());
+    }
+
+    @Test
+    void shouldRejectSalaryProjectionWithoutSelection() throws Exception {
+
+        mockMvc.perform(post("/person/salaries")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1],\"all\":true}"))
+            .andExpect(status().isBadRequest());
+
+        verify(service, never()).projectAllSalaries();
+    }
+
+    @Test
+    void shouldRejectSalaryProjectionOfTooManyIds() throws Exception {
+
+        String ids = LongStream.rangeClosed(1, SalaryProjectionRequest.MAX_IDS + 1)
+            .mapToObj(Long::toString)
+            .collect(Collectors.joining(",", "{\"ids\":[", "]}"));
+
+        mockMvc.perform(post("/person/salaries")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ids))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value(containsString("ids")));
+
+        verify(service, never()).projectSalaries(any());
+    }
+
+    @Test
+    void shouldApplyBatchReportingInvalidItemsWithoutSendingThem() throws Exception {
+
+        when(service.applyBatch(any())).thenReturn(List.of(
+            PersonBatchResult.builder().id(4L).status(BatchStatus.CREATED).build(),
+            PersonBatchResult.builder().id(9L).status(BatchStatus.NOT_FOUND).build()));
+
+        mockMvc.perform(post("/person/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    [
+                      {"op": "create", "name": "Ana", "birthDay": "1990-01-01", "hireDate": "2020-01-01", "salary": 2000.00},
+                      {"op": "update", "name": "Ana", "birthDay": "1990-01-01", "hireDate": "2020-01-01", "salary": 2000.00},
+                      {"op": "DELETE", "id": 9}
+                    ]
+                    """))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(3)))
+            .andExpect(jsonPath("$[0].index").value(0))
+            .andExpect(jsonPath("$[0].id").value(4))
+            .andExpect(jsonPath("$[0].status").value("created"))
+            .andExpect(jsonPath("$[1].index").value(1))
+            .andExpect(jsonPath("$[1].status").value("invalid"))
+            .andExpect(jsonPath("$[1].message").value("id: must not be null"))
+            .andExpect(jsonPath("$[2].index").value(2))
+            .andExpect(jsonPath("$[2].status").value("not_found"));
+
+        verify(service).applyBatch(argThat(items -> items.size() == 2
+            && items.get(0).getOperation() == BatchOperation.CREATE
+            && items.get(1).getPerson().getId() == 9L));
+    }
+
+    @Test
+    void shouldApplyNdjsonBatch() throws Exception {
+
+        when(service.applyBatch(any())).thenReturn(List.of(
+            PersonBatchResult.builder().id(1L).status(BatchStatus.DELETED).build(),
+            PersonBatchResult.builder().id(2L).status(BatchStatus.DELETED).build()));
+
+        mockMvc.perform(post("/person/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"op\":\"delete\",\"id\":1}\n{\"op\":\"delete\",\"id\":2}\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].status", contains("deleted", "deleted")));
+    }
+
+    @Test
+    void shouldRejectMalformedNdjsonBatch() throws Exception {
+
+        mockMvc.perform(post("/person/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"op\":\"delete\",\"id\":1}\n{\"op\":"))
+            .andExpect(status().isBadRequest());
+
+        verify(service, never()).applyBatch(any());
+    }
+
+    @Test
+    void shouldStopReadingBatchesOnceTheyExceedTheLimit() throws Exception {
+
+        String item = "{\"op\":\"delete\",\"id\":1}";
+        List<String> tooMany = Collections.nCopies(100_001, item);
+
+        mockMvc.perform(post("/person/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + String.join(",", tooMany) + ", {\"op\":"))
+            .andExpect(status().isPayloadTooLarge());
+
+        mockMvc.perform(post("/person/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(String.join("\n", tooMany) + "\n{\"op\":"))
+            .andExpect(status().isPayloadTooLarge());
+
+        mockMvc.perform(post("/person/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(item))
+            .andExpect(status().isBadRequest());
+
+        verify(service, never()).applyBatch(any());
+    }
+
+    @Test
+    void shouldReturnAgeDistribution() throws Exception {
+
+        when(service.ageDistribution(20)).thenReturn(List.of(
+            AgeBucket.builder().fromYears(0).toYears(20).count(0).build(),
+            AgeBucket.builder().fromYears(20).toYears(40).count(3).build()));
+
+        mockMvc.perform(get("/person/ages").param("bucketSize", "20"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[1].from").value(20))
+            .andExpect(jsonPath("$[1].to").value(40))
+            .andExpect(jsonPath("$[1].count").value(3));
+    }
+
+    @Test
+    void shouldRejectInvalidAgeBucketSize() throws Exception {
+
+        mockMvc.perform(get("/person/ages").param("bucketSize", "0"))
+            .andExpect(status().isBadRequest());
+
+        verify(service, never()).ageDistribution(anyInt());
+    }
+
+    @Test
+    void shouldQueryPeopleWithFilters() throws Exception {
+
+        var query = PersonQuery.builder()
+            .nameStartsWith("Ma")
+            .hiredFrom(LocalDate.of(2015, 1, 1))
+            .hiredTo(LocalDate.of(2020, 12, 31))
+            .salaryGte(new BigDecimal("2000"))
+            .build();
+
+        when(service.query(query, null, 2)).thenReturn(List.of(
+            Person.builder().id(2L).name("Maria").build(),
+            Person.builder().id(7L).name("Mario").build()));
+
+        mockMvc.perform(get("/person?nameStartsWith=Ma&hiredBetween=2015-01-01,2020-12-31&salaryGte=2000&limit=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].name").value("Maria"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("nameStartsWith=Ma")))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=")));
+
+        verify(service, never()).listAll();
+    }
+
+    @Test
+    void shouldRejectHiredBetweenWithoutTwoDates() throws Exception {
+
+        mockMvc.perform(get("/person").param("hiredBetween", "2015-01-01"))
+            .andExpect(status().isBadRequest());
+
+        verify(service, never()).query(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldReturnStats() throws Exception {
+
+        when(service.stats()).thenReturn(PersonStats.builder()
+            .headcount(3)
+            .totalPayroll(new BigDecimal("5645.00"))
+            .averageSalary(new BigDecimal("1881.67"))
+            .minSalary(new BigDecimal("1558"))
+            .maxSalary(new BigDecimal("2100"))
+            .build());
+
+        mockMvc.perform(get("/person/stats"))
+            .andExpect(status().isOk())
+            .andExpect(content().json("""
+                {"headcount": 3, "totalPayroll": 5645.00, "averageSalary": 1881.67, "minSalary": 1558, "maxSalary": 2100}
+                """));
+    }
+
+    @Test
+    void shouldReturnTenureDistribution() throws Exception {
+
+        when(service.tenureDistribution(5)).thenReturn(List.of(
+            TenureBucket.builder().fromYears(0).toYears(5).count(2).build()));
+
+        mockMvc.perform(get("/person/stats/tenure"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].from").value(0))
+            .andExpect(jsonPath("$[0].to").value(5))
+            .andExpect(jsonPath("$[0].count").value(2));
+    }
+
     @Test
     void shouldCreatePerson() throws Exception {
 
@@ -79,7 +520,7 @@ class PersonControllerTest {
             .salary(new BigDecimal("2000.00"))
             .build();
 
-        when(service.existsById(any())).thenReturn(false);
+        when(service.insertIfAbsent(any())).thenReturn(true);
 
         mockMvc.perform(post("/person")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -87,6 +528,27 @@ class PersonControllerTest {
             .andExpect(status().isCreated());
     }
 
+    @Test
+    void shouldCreatePersonFromCborBody() throws Exception {
+
+        var request = CreatePersonRequest.builder()
+            .name("Ana")
+            .birthDate(LocalDate.of(1990, 1, 1))
+            .hireDate(LocalDate.of(2020, 1, 1))
+            .salary(new BigDecimal("2000.00"))
+            .build();
+
+        when(service.insertIfAbsent(any())).thenReturn(true);
+
+        mockMvc.perform(post("/person")
+                .contentType(CBOR)
+                .content(new ObjectMapper(new CBORFactory()).findAndRegisterModules().writeValueAsBytes(request)))
+            .andExpect(status().isCreated());
+
+        verify(service).insertIfAbsent(argThat(person -> "Ana".equals(person.getName())
+            && LocalDate.of(2020, 1, 1).equals(person.getHireDate())));
+    }
+
     @Test
     void shouldCreatePersonWhenIdExistsButNotFound() throws Exception {
 
@@ -100,15 +562,14 @@ class PersonControllerTest {
 
         var person = request.toDomain();
 
-        when(service.existsById(1L)).thenReturn(false);
+        when(service.insertIfAbsent(person)).thenReturn(true);
 
         mockMvc.perform(post("/person")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
             .andExpect(status().isCreated());
 
-        verify(service).existsById(1L);
-        verify(service).save(person);
+        verify(service).insertIfAbsent(person);
     }
 
     @Test
@@ -122,20 +583,18 @@ class PersonControllerTest {
             .salary(new BigDecimal("2000.00"))
             .build();
 
-        when(service.existsById(1L)).thenReturn(true);
+        when(service.insertIfAbsent(request.toDomain())).thenReturn(false);
 
         mockMvc.perform(post("/person")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
             .andExpect(status().isConflict());
-
-        verify(service, never()).save(any());
     }
 
     @Test
     void shouldDeletePerson() throws Exception {
 
-        when(service.existsById(1L)).thenReturn(true);
+        when(service.removeIfPresent(1L)).thenReturn(true);
 
         mockMvc.perform(delete("/person/1"))
             .andExpect(status().isNoContent());
@@ -144,7 +603,7 @@ class PersonControllerTest {
     @Test
     void shouldNotDeleteWhenPersonNotFound() throws Exception {
 
-        when(service.existsById(1L)).thenReturn(false);
+        when(service.removeIfPresent(1L)).thenReturn(false);
 
         mockMvc.perform(delete("/person/1"))
             .andExpect(status().isNotFound());
@@ -160,7 +619,7 @@ class PersonControllerTest {
             .salary(new BigDecimal("2000.00"))
             .build();
 
-        when(service.existsById(1L)).thenReturn(true);
+        when(service.replaceIfPresent(request.toDomain(1L))).thenReturn(true);
 
         mockMvc.perform(put("/person/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -178,14 +637,12 @@ class PersonControllerTest {
             .salary(new BigDecimal("2000.00"))
             .build();
 
-        when(service.existsById(99L)).thenReturn(false);
+        when(service.replaceIfPresent(request.toDomain(99L))).thenReturn(false);
 
         mockMvc.perform(put("/person/99")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
             .andExpect(status().isNotFound());
-
-        verify(service, never()).update(any());
     }
 
     @Test
@@ -197,22 +654,30 @@ class PersonControllerTest {
             .salary(new BigDecimal("2000.00"))
             .build();
 
-        when(service.findById(1L)).thenReturn(Optional.of(person));
+        when(service.computeSalary(eq(1L), any())).thenReturn(Optional.of(person));
 
         mockMvc.perform(patch("/person/1")
                 .param("salary", "2500.00"))
             .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldRejectSalaryThatDoesNotFitTheStore() throws Exception {
+
+        mockMvc.perform(patch("/person/1")
+                .param("salary", "1e30"))
+            .andExpect(status().isBadRequest());
+
+        verify(service, never()).computeSalary(any(), any());
+    }
+
     @Test
     void shouldReturnNotFoundWhenUpdatingSalaryForNonExistentPerson() throws Exception {
-        when(service.findById(99L)).thenReturn(Optional.empty());
+        when(service.computeSalary(eq(99L), any())).thenReturn(Optional.empty());
 
         mockMvc.perform(patch("/person/99")
                 .param("salary", "2500.00"))
             .andExpect(status().isNotFound());
-
-        verify(service, never()).partialUpdate(any(), any());
     }
 
     @Test
@@ -232,6 +697,142 @@ class PersonControllerTest {
             .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldServeCachedJsonUntilPersonIsReplaced() throws Exception {
+
+        var person = Person.builder().id(1L).name("Ana").version(1L).build();
+        var renamed = person.toBuilder().name("Ana Souza").version(2L).build();
+
+        when(service.findById(1L)).thenReturn(Optional.of(person), Optional.of(person), Optional.of(renamed));
+
+        byte[] first = mockMvc.perform(get("/person/1"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.name").value("Ana"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        mockMvc.perform(get("/person/1").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(first));
+
+        mockMvc.perform(get("/person/1").accept(MediaType.ALL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag(2)))
+            .andExpect(jsonPath("$.name").value("Ana Souza"));
+
+        when(service.removeIfPresent(1L)).thenReturn(true);
+
+        mockMvc.perform(delete("/person/1"))
+            .andExpect(status().isNoContent());
+
+        assertThat(responseCache.size()).isZero();
+    }
+
+    @Test
+    void shouldNegotiateBinaryRepresentations() throws Exception {
+
+        var person = Person.builder()
+            .id(1L)
+            .name("Ana")
+            .hireDate(LocalDate.of(2020, 5, 10))
+            .salary(new BigDecimal("2000.50"))
+            .build();
+
+        when(service.findById(1L)).thenReturn(Optional.of(person));
+        when(service.listAll()).thenReturn(List.of(person));
+
+        byte[] smile = mockMvc.perform(get("/person/1").accept(SMILE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(SMILE))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode single = new ObjectMapper(new SmileFactory()).readTree(smile);
+        assertThat(single.get("name").asText()).isEqualTo("Ana");
+        assertThat(single.get("hireDate").toString()).isEqualTo("[2020,5,10]");
+        assertThat(single.get("salary").decimalValue()).isEqualByComparingTo("2000.50");
+
+        byte[] cbor = mockMvc.perform(get("/person").accept(CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode listing = new ObjectMapper(new CBORFactory()).readTree(cbor);
+        assertThat(listing).hasSize(1);
+        assertThat(listing.get(0).get("id").asLong()).isEqualTo(1L);
+
+        mockMvc.perform(get("/person/1"))
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.hireDate").value("2020-05-10"));
+    }
+
+    @Test
+    void shouldTagEveryRepresentationSeparately() throws Exception {
+
+        when(service.findById(1L)).thenReturn(Optional.of(Person.builder().id(1L).name("Ana").version(3L).build()));
+        when(service.currentVersion()).thenReturn(9L);
+
+        mockMvc.perform(get("/person/1"))
+            .andExpect(header().string(HttpHeaders.ETAG, etag(3)))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+
+        mockMvc.perform(get("/person/1").accept(SMILE))
+            .andExpect(content().contentType(SMILE))
+            .andExpect(header().string(HttpHeaders.ETAG, etag(3, SMILE)))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+
+        mockMvc.perform(get("/person").accept(CBOR))
+            .andExpect(content().contentType(CBOR))
+            .andExpect(header().string(HttpHeaders.ETAG, etag(9, CBOR)));
+
+        mockMvc.perform(get("/person/1").accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, etag(3)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(CBOR));
+
+        mockMvc.perform(get("/person/1").accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, etag(3, CBOR)))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+
+        mockMvc.perform(get("/person/1").accept(MediaType.TEXT_PLAIN))
+            .andExpect(status().isNotAcceptable());
+
+        mockMvc.perform(get("/person/1").header(HttpHeaders.ACCEPT, "json"))
+            .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenPersonVersionMatches() throws Exception {
+
+        var person = Person.builder()
+            .id(1L)
+            .name("José")
+            .version(7L)
+            .build();
+
+        when(service.findById(1L)).thenReturn(Optional.of(person));
+
+        mockMvc.perform(get("/person/1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag(7)));
+
+        mockMvc.perform(get("/person/1").header(HttpHeaders.IF_NONE_MATCH, etag(7)))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        mockMvc.perform(get("/person/1").header(HttpHeaders.IF_NONE_MATCH, etag(6)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("José"));
+    }
+
+    @Test
+    void shouldNotHonourEtagsIssuedBeforeARestart() throws Exception {
+
+        when(service.findById(1L)).thenReturn(Optional.of(Person.builder().id(1L).name("José").version(7L).build()));
+
+        mockMvc.perform(get("/person/1").header(HttpHeaders.IF_NONE_MATCH, "\"7\", \"0.7\""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("José"));
+    }
+
     @Test
     void shouldCalculateAge() throws Exception {
 
@@ -309,4 +910,25 @@ class PersonControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
             .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRejectHireDateOutsideTheSupportedRange() throws Exception {
+
+        mockMvc.perform(post("/person")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"name": "Ana", "birthDay": "1990-01-01", "hireDate": "1850-01-01", "salary": 2000.00}"""))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("hireDateSupported: hireDate must be between 1900-01-01 and 2199-12-31"));
+
+        verify(service, never()).insertIfAbsent(any());
+    }
+
+    private static String etag(long version) {
+        return etag(version, MediaType.APPLICATION_JSON);
+    }
+
+    private static String etag(long version, MediaType representation) {
+        return "\"" + PersonController.BOOT_EPOCH + "." + version + "-" + representation.getSubtype() + "\"";
+    }
+}
@@ -0,0 +1,43 @@
+package com.sccon.presentation.person;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sccon.domain.model.Person;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersonResponseCacheTest {
+
+    private final PersonResponseCache cache = new PersonResponseCache(new ObjectMapper().findAndRegisterModules(), 10);
+
+    @Test
+    void shouldStayBoundedAndStillAdmitHotPeopleOnceItIsFull() throws Exception {
+
+        for (long id = 1; id <= 1_000; id++)
+            cache.json(person(id));
+
+        Person hot = person(5_000);
+        for (int i = 0; i < 20; i++)
+            cache.json(hot);
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.json(hot)).isSameAs(cache.json(hot));
+    }
+
+    @Test
+    void shouldForgetEvictedPeople() throws Exception {
+
+        for (long id = 1; id <= 5; id++)
+            cache.json(person(id));
+
+        LongStream.rangeClosed(1, 5).forEach(cache::evict);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private static Person person(long id) {
+        return Person.builder().id(id).name("Person " + id).version(1L).build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.sccon.presentation.person;
+
+import com.sccon.domain.enums.SalaryOutput;
+import com.sccon.domain.model.Person;
+import com.sccon.domain.service.person.ReactivePersonServicePort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactivePersonController.class)
+class ReactivePersonControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactivePersonServicePort service;
+
+    @Test
+    void shouldListAllPeople() {
+
+        when(service.listAll()).thenReturn(Flux.just(
+            Person.builder().id(1L).name("Jose").build(),
+            Person.builder().id(2L).name("Maria").build()));
+
+        webTestClient.get().uri("/person")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(2)
+            .jsonPath("$[1].name").isEqualTo("Maria");
+    }
+
+    @Test
+    void shouldListPageWithNextLink() {
+
+        when(service.listPage(null, 2)).thenReturn(Flux.just(
+            Person.builder().id(1L).name("Jose").build(),
+            Person.builder().id(2L).name("Maria").build()));
+
+        webTestClient.get().uri("/person?limit=1")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().value(HttpHeaders.LINK, containsString("after="))
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(1)
+            .jsonPath("$[0].name").isEqualTo("Jose");
+    }
+
+    @Test
+    void shouldStreamPeopleAsNdjsonOnDemand() {
+
+        var emitted = new AtomicInteger();
+        when(service.streamAll()).thenReturn(Flux.fromStream(LongStream.rangeClosed(1, 100_000)
+            .mapToObj(id -> Person.builder().id(id).name("Person " + id).build()))
+            .doOnNext(person -> emitted.incrementAndGet()));
+
+        Flux<PersonResponse> body = webTestClient.get().uri("/person")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(PersonResponse.class)
+            .getResponseBody();
+
+        StepVerifier.create(body.take(3))
+            .expectNextMatches(person -> person.getId() == 1L)
+            .expectNextMatches(person -> person.getId() == 2L)
+            .expectNextMatches(person -> person.getId() == 3L)
+            .verifyComplete();
+        assertThat(emitted.get()).isLessThan(100_000);
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownPerson() {
+
+        when(service.findById(9L)).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/person/9")
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void shouldCreatePersonOrReportConflict() {
+
+        var request = CreatePersonRequest.builder()
+            .name("Jose")
+            .birthDate(LocalDate.of(1990, 1, 1))
+            .hireDate(LocalDate.of(2020, 1, 1))
+            .salary(new BigDecimal("2000.00"))
+            .build();
+
+        when(service.insertIfAbsent(any())).thenReturn(Mono.just(true), Mono.just(false));
+
+        webTestClient.post().uri("/person").bodyValue(request).exchange().expectStatus().isCreated();
+        webTestClient.post().uri("/person").bodyValue(request).exchange().expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void shouldRejectInvalidPerson() {
+
+        webTestClient.post().uri("/person")
+            .bodyValue(CreatePersonRequest.builder().name("").build())
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        verify(service, never()).insertIfAbsent(any());
+    }
+
+    @Test
+    void shouldCalculateSalary() {
+
+        var person = Person.builder().id(1L).name("Jose").build();
+
+        when(service.findById(1L)).thenReturn(Mono.just(person));
+        when(service.calculateSalary(person, SalaryOutput.MIN)).thenReturn(Mono.just(new BigDecimal("4.19")));
+
+        webTestClient.get().uri("/person/1/salary?output=min")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(BigDecimal.class).isEqualTo(new BigDecimal("4.19"));
+    }
+
+    @Test
+    void shouldRejectUnknownSalaryOutput() {
+
+        webTestClient.get().uri("/person/1/salary?output=bogus")
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        verify(service, never()).calculateSalary(any(), eq(SalaryOutput.FULL));
+    }
+}